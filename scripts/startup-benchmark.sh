@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+#
+# Compares start-up of the fast-start image (Spring AOT + AppCDS) with the plain java -jar image.
+# For each image it starts a fresh container RUNS times, next to a throwaway MongoDB, and records
+#   - time from `docker start` to the first 200 from an order endpoint
+#   - resident set size of the JVM at that moment
+#   - the start-up time Spring Boot logs itself
+# and prints the median, minimum and maximum of each.
+#
+#   scripts/startup-benchmark.sh                 # 5 runs per image, 2 CPUs, 1 GiB
+#   RUNS=10 CPUS=1 MEMORY=768m scripts/startup-benchmark.sh
+#   SKIP_BUILD=true scripts/startup-benchmark.sh # reuse images from an earlier run
+#
+# Needs docker and curl. Discovery is pointed nowhere and registration is off, so only MongoDB is needed.
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+CPUS=${CPUS:-2}
+MEMORY=${MEMORY:-1g}
+PORT=${PORT:-18084}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+SKIP_BUILD=${SKIP_BUILD:-false}
+NETWORK=order-startup-bench
+MONGO=order-startup-bench-mongo
+PROBE="http://localhost:${PORT}/api/orders/user/startup-probe/summaries?limit=1"
+
+cd "$(dirname "$0")/.."
+
+cleanup() {
+    docker rm -f "$MONGO" order-startup-bench-app >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+if [ "$SKIP_BUILD" != "true" ]; then
+    ./mvnw -B -q -P aot package -DskipTests
+    docker build -q -t order-service:fast-start . >/dev/null
+    docker build -q -t order-service:baseline --build-arg FAST_START=false . >/dev/null
+fi
+
+cleanup
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$MONGO" --network "$NETWORK" mongo:7 >/dev/null
+
+# Returns "<ms to first success> <rss KiB> <spring-reported seconds>" for one cold start
+measure() {
+    local image=$1
+    local container=order-startup-bench-app
+    docker create --name "$container" --network "$NETWORK" -p "${PORT}:8084" \
+        --cpus "$CPUS" --memory "$MEMORY" \
+        -e SPRING_DATA_MONGODB_URI="mongodb://${MONGO}:27017/artztall_orders_db" \
+        -e EUREKA_CLIENT_REGISTER_WITH_EUREKA=false \
+        -e EUREKA_CLIENT_FETCH_REGISTRY=false \
+        "$image" >/dev/null
+
+    local start elapsed
+    start=$(now_ms)
+    docker start "$container" >/dev/null
+    until curl -sf -o /dev/null "$PROBE"; do
+        if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+            echo "$image did not answer within ${TIMEOUT_SECONDS}s" >&2
+            docker logs --tail 50 "$container" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+
+    # The entrypoint execs java, so the JVM is PID 1
+    local rss spring
+    rss=$(docker exec "$container" awk '/^VmRSS/ {print $2}' /proc/1/status)
+    spring=$(docker logs "$container" 2>&1 | sed -n 's/.*Started OrderServiceApplication in \([0-9.]*\) seconds.*/\1/p')
+    docker rm -f "$container" >/dev/null
+    echo "$elapsed $rss ${spring:-?}"
+}
+
+# Median, min and max of a column of numbers
+stats() {
+    sort -n | awk '{ v[NR] = $1 } END { printf "%10s %10s %10s", v[int((NR + 1) / 2)], v[1], v[NR] }'
+}
+
+printf "%-26s %-32s %-32s %s\n" "" "first request ms" "RSS MiB" "Spring Boot s"
+printf "%-26s %10s %10s %10s %10s %10s %10s %10s\n" "image" "median" "min" "max" "median" "min" "max" "median"
+for image in order-service:baseline order-service:fast-start; do
+    # Untimed first start, so both images are measured with a warm page cache
+    measure "$image" >/dev/null
+    results=()
+    for _ in $(seq "$RUNS"); do
+        results+=("$(measure "$image")")
+    done
+    printf "%-26s %s %s %10s\n" "$image" \
+        "$(printf '%s\n' "${results[@]}" | awk '{print $1}' | stats)" \
+        "$(printf '%s\n' "${results[@]}" | awk '{printf "%d\n", $2 / 1024}' | stats)" \
+        "$(printf '%s\n' "${results[@]}" | awk '{print $3}' | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')"
+done
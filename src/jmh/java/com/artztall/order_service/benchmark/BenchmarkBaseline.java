@@ -0,0 +1,91 @@
+package com.artztall.order_service.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the stored baseline and fails when any benchmark got slower than
+ * the allowed tolerance. Benchmarks missing from the baseline are reported but do not fail the run.
+ *
+ * <pre>
+ * BenchmarkBaseline &lt;result.json&gt; &lt;baseline.json&gt; &lt;tolerance, e.g. 0.25&gt; [update]
+ * </pre>
+ * With {@code update=true} the result replaces the baseline instead of being checked against it.
+ */
+public final class BenchmarkBaseline {
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (update || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Stored " + result + " as the benchmark baseline " + baseline);
+            return;
+        }
+
+        List<String> regressions = compare(read(result), read(baseline), tolerance);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.err::println);
+            throw new IllegalStateException(regressions.size() + " benchmark(s) regressed beyond "
+                    + Math.round(tolerance * 100) + "% of the baseline");
+        }
+    }
+
+    static List<String> compare(Map<String, Score> current, Map<String, Score> baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((name, score) -> {
+            Score reference = baseline.get(name);
+            if (reference == null) {
+                System.out.printf("%-90s %12.3f %s (no baseline)%n", name, score.value(), score.unit());
+                return;
+            }
+            // Throughput modes improve upwards, time modes downwards
+            double change = score.higherIsBetter()
+                    ? (reference.value() - score.value()) / reference.value()
+                    : (score.value() - reference.value()) / reference.value();
+            String line = String.format("%-90s %12.3f %s (baseline %.3f, %+.1f%%)", name, score.value(),
+                    score.unit(), reference.value(), (score.value() - reference.value()) / reference.value() * 100);
+            if (change > tolerance) {
+                regressions.add("REGRESSION " + line);
+            } else {
+                System.out.println(line);
+            }
+        });
+        return regressions;
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            // Sorted so the key does not depend on parameter order in the file
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((key, value) -> name.append(':').append(key).append('=').append(value));
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(name.toString(), new Score(metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(), "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.artztall.order_service.benchmark;
+
+import com.artztall.order_service.dto.OrderItemResponseDTO;
+import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.artztall.order_service.model.ProductDimensions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serializes order lists the way the controllers answer them, with the ObjectMapper configuration
+ * Spring Boot starts from. 50 matches a typical buyer history; 500 is the unpaginated listing cap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int orders;
+
+    private ObjectWriter writer;
+    private List<OrderResponseDTO> response;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        response = IntStream.range(0, orders).mapToObj(OrderJsonBenchmark::order).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    private static OrderResponseDTO order(int i) {
+        OrderItemResponseDTO item = new OrderItemResponseDTO();
+        item.setProductId("product-" + i);
+        item.setProductName("Sunset over Galle Fort #" + i);
+        item.setArtistId("artist-1");
+        item.setQuantity(1);
+        item.setPrice(BigDecimal.valueOf(250));
+        item.setSubtotal(BigDecimal.valueOf(250));
+        item.setImageUrl("https://cdn.example.com/artworks/product-" + i + ".jpg");
+        item.setDimensions(new ProductDimensions(60.0, 40.0, "cm"));
+        item.setMedium("Oil on canvas");
+        item.setStyle("Impressionism");
+
+        OrderResponseDTO order = new OrderResponseDTO();
+        order.setId("order-" + i);
+        order.setUserId("user-1");
+        order.setItem(item);
+        order.setTotalAmount(BigDecimal.valueOf(250));
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+        order.setShippingAddress("12 Gallery Road, Colombo");
+        order.setCreatedAt(LocalDateTime.of(2024, 11, 1, 10, 0).plusMinutes(i));
+        order.setUpdatedAt(LocalDateTime.of(2024, 11, 1, 10, 5).plusMinutes(i));
+        order.setVersion(1L);
+        return order;
+    }
+}
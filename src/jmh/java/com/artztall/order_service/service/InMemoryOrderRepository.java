@@ -0,0 +1,65 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.repository.OrderRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Map-backed {@link OrderRepository} covering the calls made by the benchmarked paths. Saved orders
+ * get an id but are not kept, so long runs do not grow the heap, and a transition leaves the stored
+ * order untouched so the same update can be measured repeatedly.
+ */
+final class InMemoryOrderRepository {
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    void put(Order order) {
+        orders.put(order.getId(), order);
+    }
+
+    OrderRepository repository() {
+        return (OrderRepository) Proxy.newProxyInstance(OrderRepository.class.getClassLoader(),
+                new Class<?>[]{OrderRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> assignId((Order) args[0]);
+                    case "insert" -> args[0] instanceof Order order ? assignId(order) : insertAll((List<Order>) args[0]);
+                    case "findById" -> Optional.ofNullable(orders.get((String) args[0]));
+                    case "findByUserId" -> orders.values().stream()
+                            .filter(order -> order.getUserId().equals(args[0]))
+                            .toList();
+                    case "transitionStatus" -> transition((String) args[0], (OrderStatus) args[1], (Long) args[2]);
+                    case "toString" -> "InMemoryOrderRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Order assignId(Order order) {
+        order.setId("order-" + ids.incrementAndGet());
+        order.setVersion(0L);
+        return order;
+    }
+
+    private List<Order> insertAll(List<Order> batch) {
+        batch.forEach(this::assignId);
+        return batch;
+    }
+
+    private Order transition(String orderId, OrderStatus status, Long expectedVersion) {
+        Order current = orders.get(orderId);
+        if (current == null || !status.predecessors().contains(current.getStatus())) {
+            return null;
+        }
+        if (expectedVersion != null && expectedVersion != (current.getVersion() == null ? 0 : current.getVersion())) {
+            return null;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,245 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.config.OrderBatchProperties;
+import com.artztall.order_service.config.ResilienceProperties;
+import com.artztall.order_service.dto.NotificationSendDTO;
+import com.artztall.order_service.dto.OrderCreateDTO;
+import com.artztall.order_service.dto.OrderItemDTO;
+import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.dto.ProductDimensionsDTO;
+import com.artztall.order_service.dto.ProductResponseDTO;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderItem;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.artztall.order_service.model.ProductDimensions;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Order service hot paths with product-service, notifications, sales summaries and MongoDB replaced
+ * by in-process stubs, so the scores are the service's own CPU cost per call, logging included. Run
+ * with {@code mvn -P benchmark verify}, which fails when a score regresses past the stored baseline;
+ * add {@code -Djmh.baseline.update=true} to record a new baseline after an intended change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+    private static final int USER_ORDERS = 50;
+
+    private OrderServiceImpl orderService;
+    private Order order;
+    private List<Order> userOrders;
+    private OrderCreateDTO orderCreateDTO;
+
+    @Setup
+    public void setUp() {
+        InMemoryOrderRepository store = new InMemoryOrderRepository();
+        orderService = new OrderServiceImpl(store.repository(), new StubProductClient(product()),
+                new StubNotificationClient(), new StubArtisanSalesService(), new OrderBatchProperties(),
+                Schedulers.immediate(), new LocalOrderReadCache(), new NoOpExpiryScheduler(),
+                new MigratedSchema(), TransactionOperations.withoutTransaction(), Duration.ofMinutes(15));
+
+        order = order("order-pending");
+        store.put(order);
+        userOrders = IntStream.range(0, USER_ORDERS).mapToObj(i -> order("order-" + i)).toList();
+
+        orderCreateDTO = new OrderCreateDTO();
+        orderCreateDTO.setUserId("user-1");
+        orderCreateDTO.setItem(new OrderItemDTO("product-1", 1));
+        orderCreateDTO.setShippingAddress("12 Gallery Road, Colombo");
+        orderCreateDTO.setSpecialInstructions("Wrap the frame");
+    }
+
+    @Benchmark
+    public OrderResponseDTO mapToOrderResponse() {
+        return orderService.mapToOrderResponse(order);
+    }
+
+    @Benchmark
+    public List<OrderResponseDTO> mapUserOrders() {
+        return userOrders.stream().map(orderService::mapToOrderResponse).toList();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(orderCreateDTO).join();
+    }
+
+    @Benchmark
+    public OrderResponseDTO updateOrderStatus() {
+        return orderService.updateOrderStatus(order.getId(), OrderStatus.CONFIRMED);
+    }
+
+    private static Order order(String id) {
+        OrderItem item = new OrderItem();
+        item.setProductId("product-1");
+        item.setProductName("Sunset over Galle Fort");
+        item.setArtistId("artist-1");
+        item.setQuantity(1);
+        item.setPrice(BigDecimal.valueOf(250));
+        item.setSubtotal(BigDecimal.valueOf(250));
+        item.setImageUrl("https://cdn.example.com/artworks/product-1.jpg");
+        item.setDimensions(new ProductDimensions(60.0, 40.0, "cm"));
+        item.setMedium("Oil on canvas");
+        item.setStyle("Impressionism");
+
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId("user-1");
+        order.setItem(item);
+        order.setTotalAmount(BigDecimal.valueOf(250));
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        order.setShippingAddress("12 Gallery Road, Colombo");
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        order.setVersion(0L);
+        return order;
+    }
+
+    private static ProductResponseDTO product() {
+        ProductResponseDTO product = new ProductResponseDTO();
+        product.setId("product-1");
+        product.setName("Sunset over Galle Fort");
+        product.setPrice(BigDecimal.valueOf(250));
+        product.setArtistId("artist-1");
+        product.setAvailable(true);
+        product.setStockQuantity(1);
+        product.setImageUrl("https://cdn.example.com/artworks/product-1.jpg");
+        product.setDimensions(new ProductDimensionsDTO(60.0, 40.0, "cm"));
+        product.setMedium("Oil on canvas");
+        product.setStyle("Impressionism");
+        return product;
+    }
+
+    private static final class StubProductClient extends ProductClientService {
+        private final ProductResponseDTO product;
+
+        StubProductClient(ProductResponseDTO product) {
+            super(WebClient.create(), Caffeine.newBuilder().build(), CircuitBreakerRegistry.ofDefaults(),
+                    BulkheadRegistry.ofDefaults(), new ResilienceProperties(), new SimpleMeterRegistry());
+            this.product = product;
+        }
+
+        @Override
+        public Mono<ProductResponseDTO> getProductAsync(String productId) {
+            return Mono.just(product);
+        }
+
+        @Override
+        public Mono<Void> reserveProductAsync(String productId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> releaseProductAsync(String productId) {
+            return Mono.empty();
+        }
+
+        @Override
+        public void releaseProduct(String productId) {
+        }
+    }
+
+    private static final class StubNotificationClient extends NotificationClientService {
+        StubNotificationClient() {
+            super(WebClient.create(), null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public void sendNotification(NotificationSendDTO notificationSendDTO) {
+        }
+
+        @Override
+        public void sendNotifications(List<NotificationSendDTO> notifications) {
+        }
+    }
+
+    private static final class StubArtisanSalesService extends ArtisanSalesService {
+        StubArtisanSalesService() {
+            super(null, null, null);
+        }
+
+        @Override
+        public void recordOrderCreated(Order order) {
+        }
+
+        @Override
+        public void recordOrdersCreated(List<Order> orders) {
+        }
+
+        @Override
+        public void recordStatusChange(Order order, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        }
+
+        @Override
+        public void recordStatusChanges(List<Order> orders, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        }
+    }
+
+    private static final class MigratedSchema extends OrderSchemaMigration {
+        MigratedSchema() {
+            super(null, null, null, false, 500, Duration.ZERO, Duration.ZERO);
+        }
+
+        @Override
+        boolean isCompleted() {
+            return true;
+        }
+    }
+
+    private static final class NoOpExpiryScheduler extends OrderExpiryScheduler {
+        NoOpExpiryScheduler() {
+            super(null, null, null, new SimpleMeterRegistry(), Duration.ofMinutes(15), Duration.ofSeconds(1), 64);
+        }
+
+        @Override
+        public void schedule(Order order) {
+        }
+
+        @Override
+        public void cancel(String orderId) {
+        }
+    }
+
+    // Evicts locally only; publishing to other instances would need MongoDB
+    private static final class LocalOrderReadCache extends OrderReadCache {
+        LocalOrderReadCache() {
+            super(null, new SimpleMeterRegistry(), Schedulers.immediate(), Duration.ofSeconds(30), 10_000, 2_000);
+        }
+
+        @Override
+        public void invalidate(Collection<Order> changed) {
+            changed.forEach(order -> evict(order.getId(), order.getUserId()));
+        }
+    }
+}
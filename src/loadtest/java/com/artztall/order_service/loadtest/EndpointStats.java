@@ -0,0 +1,59 @@
+package com.artztall.order_service.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts for one endpoint of the workload. Latency is recorded from the
+ * moment a request was due, not from when it was sent, so a stalled service shows up in the
+ * percentiles instead of silently lowering the request rate.
+ */
+final class EndpointStats {
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_TRACKED_NANOS));
+        if (status == 304) {
+            notModified.increment();
+        } else if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_TRACKED_NANOS));
+        errors.increment();
+    }
+
+    static String header() {
+        return String.format("%-16s %9s %9s %8s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "req/s", "errors", "304s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    String row(double seconds) {
+        long count = latencies.getTotalCount();
+        return String.format("%-16s %9d %9.1f %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name, count, count / seconds, errors.sum(), notModified.sum(),
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,288 @@
+package com.artztall.order_service.loadtest;
+
+import com.artztall.order_service.OrderServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import de.flapdoodle.embed.mongo.commands.MongodArguments;
+import de.flapdoodle.embed.mongo.config.Storage;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.flapdoodle.reverse.transitions.Start;
+import org.bson.Document;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the order service against a local MongoDB and stub downstream services and replays a mixed
+ * workload at a fixed arrival rate. Requests are issued on schedule whether or not earlier ones have
+ * finished (an open model), and latency is measured from the scheduled time, so queueing inside the
+ * service is part of the reported percentiles.
+ *
+ * <pre>
+ * mvn -P loadtest verify -Dloadtest.rate=200 -Dloadtest.duration=60 -Dloadtest.product.latency=50
+ * </pre>
+ * Without {@code -Dloadtest.mongo.uri} an embedded mongod is downloaded and started as a single-node
+ * replica set; pass the URI of a local replica set to use that instead. The service writes orders and
+ * their notification outbox entries in one transaction, which a standalone mongod does not support.
+ */
+public final class LoadTest {
+    static final int ARTISANS = 20;
+    private static final int KNOWN_ORDERS = 10_000;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    // Identity the gateway would set; lets the per-user rate limit see each simulated user separately
+    private static final String USER_HEADER = "X-User-Id";
+    private static final String REPLICA_SET = "rs0";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String baseUrl;
+    private final int users;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+
+    private final AtomicLong productIds = new AtomicLong();
+    private final AtomicLong createdOrders = new AtomicLong();
+    private final AtomicReferenceArray<String[]> knownOrders = new AtomicReferenceArray<>(KNOWN_ORDERS);
+    private final ConcurrentLinkedQueue<String[]> pendingOrders = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+    private LoadTest(String baseUrl, int users, Map<String, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup", 15);
+        int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2000);
+        int users = Integer.getInteger("loadtest.users", 500);
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+                "create:15,status:10,poll:55,user-orders:10,artisan-orders:10"));
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = System.getProperty("loadtest.mongo.uri", "");
+        if (mongoUri.isBlank()) {
+            mongod = startReplicaSet();
+            mongoUri = "mongodb://" + mongod.current().getServerAddress() + "/?directConnection=true";
+        }
+        StubService productService = StubService.configured("product").startProductService();
+        StubService notificationService = StubService.configured("notification").startNotificationService();
+        ConfigurableApplicationContext app = null;
+        try {
+            app = new SpringApplicationBuilder(OrderServiceApplication.class)
+                    .profiles("loadtest")
+                    .run("--spring.data.mongodb.uri=" + mongoUri,
+                            "--server.port=0",
+                            "--spring.cloud.discovery.client.simple.instances.product-service[0].uri=" + productService.baseUrl(),
+                            "--spring.cloud.discovery.client.simple.instances.notification-service[0].uri="
+                                    + notificationService.baseUrl());
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            LoadTest loadTest = new LoadTest("http://localhost:" + port, users, mix);
+
+            System.out.printf("Warming up for %d s at %d req/s%n", warmupSeconds, rate);
+            loadTest.run(rate, warmupSeconds, maxInFlight);
+            System.out.printf("Measuring for %d s at %d req/s, mix %s%n", durationSeconds, rate, mix);
+            Map<String, EndpointStats> stats = loadTest.run(rate, durationSeconds, maxInFlight);
+
+            System.out.println();
+            System.out.println(EndpointStats.header());
+            stats.values().forEach(endpoint -> System.out.println(endpoint.row(durationSeconds)));
+            System.out.println();
+            System.out.println(productService.summary());
+            System.out.println(notificationService.summary());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            productService.stop();
+            notificationService.stop();
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    private Map<String, EndpointStats> run(int rate, int seconds, int maxInFlight) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        mix.keySet().forEach(operation -> stats.put(operation, new EndpointStats(operation)));
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = start; due < end; due += interval) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                // Blocking here delays later requests, but their latency still counts from when they were due
+                inFlight.acquire();
+                String operation = pickOperation();
+                long scheduled = due;
+                workers.execute(() -> {
+                    try {
+                        int status = execute(operation);
+                        stats.get(operation).record(System.nanoTime() - scheduled, status);
+                    } catch (Exception e) {
+                        stats.get(operation).recordFailure(System.nanoTime() - scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private String pickOperation() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty workload mix");
+    }
+
+    private int execute(String operation) throws Exception {
+        // Until orders exist, reads and updates have nothing to act on
+        if (knownOrders.get(0) == null && !"create".equals(operation) && !"artisan-orders".equals(operation)) {
+            return createOrder();
+        }
+        return switch (operation) {
+            case "create" -> createOrder();
+            case "status" -> confirmOrder();
+            case "poll" -> pollOrder();
+            case "user-orders" -> {
+                String userId = randomKnownOrder()[1];
+                yield send(get("/api/orders/user/" + userId, userId)).statusCode();
+            }
+            case "artisan-orders" -> {
+                String artistId = "artist-" + ThreadLocalRandom.current().nextInt(ARTISANS);
+                yield send(get("/api/orders/artisan/" + artistId + "/page?limit=20", artistId)).statusCode();
+            }
+            default -> throw new IllegalArgumentException("Unknown operation " + operation);
+        };
+    }
+
+    private int createOrder() throws Exception {
+        String userId = "user-" + ThreadLocalRandom.current().nextInt(users);
+        String body = JSON.writeValueAsString(Map.of(
+                "userId", userId,
+                "item", Map.of("productId", "product-" + productIds.incrementAndGet(), "quantity", 1),
+                "shippingAddress", "12 Gallery Road, Colombo"));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                .header("Content-Type", "application/json")
+                .header(USER_HEADER, userId)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (response.statusCode() / 100 == 2) {
+            JsonNode order = JSON.readTree(response.body());
+            String orderId = order.path("id").asText();
+            knownOrders.set((int) (createdOrders.getAndIncrement() % KNOWN_ORDERS), new String[]{orderId, userId});
+            pendingOrders.add(new String[]{orderId, userId});
+        }
+        return response.statusCode();
+    }
+
+    private int confirmOrder() throws Exception {
+        String[] order = pendingOrders.poll();
+        if (order == null) {
+            return pollOrder();
+        }
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + order[0] + "/status?status=CONFIRMED"))
+                .header(USER_HEADER, order[1])
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build()).statusCode();
+    }
+
+    // Behaves like a buyer's frontend waiting for payment: repeats the last ETag it saw
+    private int pollOrder() throws Exception {
+        String[] order = randomKnownOrder();
+        String orderId = order[0];
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + orderId))
+                .header(USER_HEADER, order[1])
+                .GET();
+        String etag = etags.get(orderId);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        HttpResponse<String> response = send(request.build());
+        response.headers().firstValue("ETag").ifPresent(value -> etags.put(orderId, value));
+        return response.statusCode();
+    }
+
+    private String[] randomKnownOrder() {
+        int known = (int) Math.min(createdOrders.get(), KNOWN_ORDERS);
+        String[] order = knownOrders.get(ThreadLocalRandom.current().nextInt(known));
+        // The slot is claimed before it is filled; fall back to the first order in that short window
+        return order != null ? order : knownOrders.get(0);
+    }
+
+    private HttpRequest get(String path, String userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header(USER_HEADER, userId).GET().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> startReplicaSet() throws InterruptedException {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance()
+                .withMongodArguments(Start.to(MongodArguments.class)
+                        .initializedWith(MongodArguments.defaults().withReplication(Storage.of(REPLICA_SET, 0))))
+                .start(Version.Main.V7_0);
+        String address = mongod.current().getServerAddress().toString();
+        try (MongoClient client = MongoClients.create("mongodb://" + address + "/?directConnection=true")) {
+            MongoDatabase admin = client.getDatabase("admin");
+            admin.runCommand(new Document("replSetInitiate", new Document("_id", REPLICA_SET)
+                    .append("members", List.of(new Document("_id", 0).append("host", address)))));
+            while (!admin.runCommand(new Document("hello", 1)).getBoolean("isWritablePrimary", false)) {
+                Thread.sleep(100);
+            }
+        }
+        return mongod;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] weighted = part.trim().split(":");
+            mix.put(weighted[0], Integer.parseInt(weighted[1]));
+        }
+        return mix;
+    }
+}
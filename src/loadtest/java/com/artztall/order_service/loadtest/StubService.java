@@ -0,0 +1,102 @@
+package com.artztall.order_service.loadtest;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for product-service or notification-service. Every response is delayed by the base
+ * latency plus a uniformly random jitter, and a configurable share of requests fails with 503, so
+ * slow or flaky downstreams can be reproduced without the real services.
+ */
+final class StubService {
+    private static final String PRODUCT_JSON = "{\"id\":\"%s\",\"name\":\"Load test artwork\",\"price\":250.0,"
+            + "\"artistId\":\"%s\",\"stockQuantity\":1,\"available\":true,\"medium\":\"Oil on canvas\"}";
+
+    private final String name;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private DisposableServer server;
+
+    private StubService(String name, Duration latency, Duration jitter, double errorRate) {
+        this.name = name;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+    }
+
+    /** Reads {@code loadtest.<name>.latency}, {@code .jitter} and {@code .error-rate}. */
+    static StubService configured(String name) {
+        return new StubService(name,
+                Duration.ofMillis(Long.getLong("loadtest." + name + ".latency", 20)),
+                Duration.ofMillis(Long.getLong("loadtest." + name + ".jitter", 10)),
+                Double.parseDouble(System.getProperty("loadtest." + name + ".error-rate", "0")));
+    }
+
+    StubService startProductService() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/products/{id}", (request, response) -> respond(request, response,
+                                String.format(PRODUCT_JSON, request.param("id"), artistOf(request.param("id")))))
+                        .put("/api/products/{id}/{action}", (request, response) -> respond(request, response,
+                                String.format(PRODUCT_JSON, request.param("id"), artistOf(request.param("id"))))))
+                .bindNow();
+        return this;
+    }
+
+    StubService startNotificationService() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .post("/api/notifications/send", (request, response) -> respond(request, response, "{}")))
+                .bindNow();
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    String summary() {
+        return String.format("%s stub: %d requests, %d injected errors (latency %d ms + up to %d ms jitter)",
+                name, requests.sum(), injectedErrors.sum(), latency.toMillis(), jitter.toMillis());
+    }
+
+    // Products are spread over a handful of artisans so the artisan listings have something to page through
+    static String artistOf(String productId) {
+        return "artist-" + Math.floorMod(productId.hashCode(), LoadTest.ARTISANS);
+    }
+
+    private Mono<Void> respond(HttpServerRequest request, HttpServerResponse response, String body) {
+        requests.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Duration delay = jitter.isZero() ? latency : latency.plusMillis(random.nextLong(jitter.toMillis() + 1));
+        boolean fail = random.nextDouble() < errorRate;
+        if (fail) {
+            injectedErrors.increment();
+        }
+        return request.receive().then()
+                .then(Mono.delay(delay))
+                .then(fail
+                        ? response.status(503).send().then()
+                        : response.header("Content-Type", "application/json").sendString(Mono.just(body)).then());
+    }
+}
@@ -0,0 +1,86 @@
+package com.artztall.order_service.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows latency, in the manner of a gradient limiter. Every completed
+ * request updates a short-term and a long-term average round trip time; while recent requests are
+ * no slower than the long-term average (within the tolerance) the limit grows by about its square
+ * root, and as they slow down the limit shrinks in proportion, by at most half per update. The long
+ * term average is pulled down when latency recovers, so one slow period does not leave the limit
+ * permanently high. The limit only grows while it is actually being used.
+ */
+final class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        if (minLimit < 1 || minLimit > maxLimit || smoothing <= 0 || smoothing > 1 || tolerance < 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /** Claims a slot, or returns false when the limit is reached; a claimed slot must be released. */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Releases a slot and feeds the request's round trip time into the limit. */
+    void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(Math.max(rttNanos, 1), inFlightBefore);
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rtt, int inFlightBefore) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt += (rtt - longRtt) / LONG_WINDOW;
+        if (longRtt > 2 * shortRtt) {
+            // Latency dropped well below the long-term average; catch up instead of waiting out the window
+            longRtt = 0.95 * longRtt + 0.05 * shortRtt;
+        }
+        // With most of the limit unused, latency says nothing about whether more concurrency would help
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, Math.round(smoothed)));
+    }
+}
@@ -0,0 +1,196 @@
+package com.artztall.order_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Sheds load on {@code /api/orders} before it reaches the controller. A request arriving while the
+ * adaptive concurrency limit is reached gets 503. Requests that carry the user identity the gateway
+ * sets in {@code X-User-Id} also draw from that user's token bucket and get 429 once it is empty, so
+ * one user cannot take the capacity everyone shares. Both carry {@code Retry-After}. Without the
+ * header only the adaptive limit applies: path segments and client addresses are not identities,
+ * and behind a gateway or NAT every caller would share one address. Event streams and exports are
+ * long-lived by design and are not limited.
+ *
+ * <p>Requests completed asynchronously keep their slot until the response is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    static final String USER_HEADER = "X-User-Id";
+    private static final String LIMITED_PATH = "/api/orders";
+
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+    private final Counter rejectedByLimit;
+    private final Counter rejectedByUserRate;
+
+    @Autowired
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getSmoothing(), properties.getRttTolerance());
+        this.buckets = Caffeine.newBuilder().maximumSize(properties.getMaxTrackedUsers()).build();
+        Gauge.builder("orders.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit for order requests")
+                .register(meterRegistry);
+        Gauge.builder("orders.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Order requests currently being handled")
+                .register(meterRegistry);
+        this.rejectedByLimit = Counter.builder("orders.concurrency.rejected")
+                .tag("reason", "limit")
+                .description("Order requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+        this.rejectedByUserRate = Counter.builder("orders.concurrency.rejected")
+                .tag("reason", "user-rate")
+                .description("Order requests shed because the caller exceeded its rate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !properties.isEnabled()
+                || !path.startsWith(LIMITED_PATH)
+                || path.endsWith("/events")
+                || path.endsWith("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = nanoClock.getAsLong();
+        String user = userOf(request);
+        if (user != null) {
+            TokenBucket bucket = buckets.get(user,
+                    caller -> new TokenBucket(properties.getUserRate(), properties.getUserBurst(), now));
+            long waitNanos = bucket.tryTake(now);
+            if (waitNanos > 0) {
+                rejectedByUserRate.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Too many requests, slow down");
+                return;
+            }
+        }
+        if (!limiter.tryAcquire()) {
+            rejectedByLimit.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getRetryAfter().toNanos(),
+                    "Service is at capacity, try again shortly");
+            return;
+        }
+
+        Release release = new Release(now);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    // Null when the request carries no user identity
+    static String userOf(HttpServletRequest request) {
+        String user = request.getHeader(USER_HEADER);
+        return user == null || user.isBlank() ? null : user.trim();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message)
+            throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.sendError(status.value(), message);
+    }
+
+    // Releases the slot exactly once, whichever of completion, timeout or error is reported first
+    private final class Release implements Runnable, AsyncListener {
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Release(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(nanoClock.getAsLong() - start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Still the same request; keep the slot
+        }
+    }
+
+    /** Refills continuously at {@code rate} tokens per second up to {@code burst}. */
+    static final class TokenBucket {
+        private final double nanosPerToken;
+        private final double burst;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double rate, int burst, long nowNanos) {
+            this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / rate;
+            this.burst = burst;
+            this.tokens = burst;
+            this.refilledAt = nowNanos;
+        }
+
+        /** Takes a token and returns 0, or returns how long until one is available. */
+        synchronized long tryTake(long nowNanos) {
+            tokens = Math.min(burst, tokens + (nowNanos - refilledAt) / nanosPerToken);
+            refilledAt = nowNanos;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.artztall.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Load shedding for {@code /api/orders}. The concurrency limit adapts to observed latency between
+ * {@code min-limit} and {@code max-limit}; each user identified by the gateway's {@code X-User-Id}
+ * header additionally gets a token bucket of {@code user-rate} requests per second with room for
+ * {@code user-burst} at once.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 100;
+    private int minLimit = 20;
+    private int maxLimit = 1000;
+    /** Weight of each new limit estimate; lower values react more slowly but are steadier. */
+    private double smoothing = 0.2;
+    /** How much slower than the long-term latency recent requests may get before the limit shrinks. */
+    private double rttTolerance = 1.5;
+    private double userRate = 20;
+    private int userBurst = 40;
+    /** Users whose buckets are kept; the least recently seen are dropped beyond this. */
+    private long maxTrackedUsers = 100_000;
+    /** Retry-After sent with a 503 when the service is at its concurrency limit. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
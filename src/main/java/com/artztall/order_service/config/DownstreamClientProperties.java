@@ -0,0 +1,36 @@
+package com.artztall.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeout settings for the WebClients calling other services. Base URLs use
+ * discovery service ids; the load-balanced WebClient.Builder resolves them to instances.
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.clients")
+public class DownstreamClientProperties {
+    private Client productService = new Client("http://product-service");
+    private Client notificationService = new Client("http://notification-service");
+
+    @Data
+    public static class Client {
+        private String baseUrl;
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(3);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        public Client() {
+        }
+
+        public Client(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.artztall.order_service.config;
+
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+/**
+ * Document mapping shared by all collections. Statuses are stored as their one-letter codes and no
+ * {@code _class} key is written: none of our documents are polymorphic, so the declared type is
+ * always enough to read them back.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                OrderStatusToCode.INSTANCE, CodeToOrderStatus.INSTANCE,
+                PaymentStatusToCode.INSTANCE, CodeToPaymentStatus.INSTANCE));
+    }
+
+    // Lets an order write and its notification outbox entry commit together. Transactions need a
+    // replica set, which the order change stream already requires
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory factory) {
+        return new MongoTransactionManager(factory);
+    }
+
+    // Replaces Boot's converter only to drop the type key
+    @Bean
+    public MappingMongoConverter mappingMongoConverter(MongoDatabaseFactory factory, MongoMappingContext context,
+                                                       MongoCustomConversions conversions) {
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory), context);
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        return converter;
+    }
+
+    @WritingConverter
+    enum OrderStatusToCode implements Converter<OrderStatus, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(OrderStatus source) {
+            return source.code();
+        }
+    }
+
+    @ReadingConverter
+    enum CodeToOrderStatus implements Converter<String, OrderStatus> {
+        INSTANCE;
+
+        @Override
+        public OrderStatus convert(String source) {
+            return OrderStatus.fromCode(source);
+        }
+    }
+
+    @WritingConverter
+    enum PaymentStatusToCode implements Converter<PaymentStatus, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(PaymentStatus source) {
+            return source.code();
+        }
+    }
+
+    @ReadingConverter
+    enum CodeToPaymentStatus implements Converter<String, PaymentStatus> {
+        INSTANCE;
+
+        @Override
+        public PaymentStatus convert(String source) {
+            return PaymentStatus.fromCode(source);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.artztall.order_service.config;
+
+import com.artztall.order_service.model.IdempotencyRecord;
+import com.artztall.order_service.model.NotificationOutboxEntry;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Ensures the indexes declared on our documents exist, then asks MongoDB to explain each of the
+ * order queries the service runs and reports any that would scan the whole collection. Spring Data's
+ * auto index creation is off by default and would run during context refresh, so this runs once the
+ * application is ready, off the startup thread, and only logs when the cluster is unreachable. With
+ * {@code orders.indexes.require-index-scan} it runs on the startup thread instead and a missing index
+ * or a collection scan fails startup.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            Order.class,
+            NotificationOutboxEntry.class,
+            IdempotencyRecord.class
+    );
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskExecutor taskExecutor;
+    private final boolean verifyQueries;
+    private final boolean requireIndexScan;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${orders.indexes.verify-queries:true}") boolean verifyQueries,
+                                 @Value("${orders.indexes.require-index-scan:false}") boolean requireIndexScan) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskExecutor = taskExecutor;
+        this.verifyQueries = verifyQueries;
+        this.requireIndexScan = requireIndexScan;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (requireIndexScan) {
+            // An exception thrown from a ready listener fails SpringApplication.run
+            ensureIndexes();
+            List<String> scans = collectionScans();
+            if (!scans.isEmpty()) {
+                throw new IllegalStateException("Order queries without a usable index: " + scans);
+            }
+            return;
+        }
+        taskExecutor.execute(() -> {
+            if (ensureIndexes() && verifyQueries) {
+                try {
+                    collectionScans().forEach(name -> log.warn("Order query '{}' scans the whole collection", name));
+                } catch (Exception e) {
+                    log.warn("Could not verify order query plans", e);
+                }
+            }
+        });
+    }
+
+    /** Returns false when MongoDB could not be reached. */
+    boolean ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(document);
+                resolver.resolveIndexFor(document).forEach(indexOps::ensureIndex);
+                log.info("Ensured indexes for {}", document.getSimpleName());
+            } catch (DataAccessResourceFailureException e) {
+                if (requireIndexScan) {
+                    throw e;
+                }
+                log.warn("MongoDB unreachable, skipping index initialization", e);
+                return false;
+            } catch (Exception e) {
+                if (requireIndexScan) {
+                    throw e;
+                }
+                log.warn("Could not ensure indexes for {}", document.getSimpleName(), e);
+            }
+        }
+        return true;
+    }
+
+    /** Names of the order queries whose winning plan contains a collection scan. */
+    List<String> collectionScans() {
+        MongoPersistentEntity<?> entity =
+                mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Order.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        List<String> scans = new ArrayList<>();
+        orderQueries().forEach((name, query) -> {
+            Document plan = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                    .find(mapper.getMappedObject(query.getQueryObject(), entity))
+                    .sort(mapper.getMappedSort(query.getSortObject(), entity))
+                    .limit(query.getLimit())
+                    .explain();
+            if (containsStage(plan.get("queryPlanner", Document.class).get("winningPlan"), COLLECTION_SCAN)) {
+                scans.add(name);
+            } else {
+                log.debug("Order query '{}' is served by an index", name);
+            }
+        });
+        return scans;
+    }
+
+    // One representative of every filter and sort the service runs against orders
+    private static Map<String, Query> orderQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Query> queries = new LinkedHashMap<>();
+        queries.put("orders by user", query(where("userId").is("")).with(NEWEST_FIRST).limit(21));
+        queries.put("paid orders by artisan", query(where("item.artistId").is("")
+                .and("paymentStatus").is(PaymentStatus.COMPLETED)).with(NEWEST_FIRST).limit(21));
+        queries.put("orders by artisan", query(where("item.artistId").is("")));
+        queries.put("expired pending orders", query(where("status").is(OrderStatus.PENDING)
+                .and("createdAt").lt(now)).with(Sort.by("createdAt")).limit(200));
+        queries.put("export by date range", query(where("createdAt").gte(now.minusDays(30)).lt(now))
+                .with(Sort.by("createdAt", "_id")));
+        queries.put("oldest pending order", query(where("status").is(OrderStatus.PENDING))
+                .with(Sort.by("createdAt")).limit(1));
+        return queries;
+    }
+
+    // Walks the whole plan, since sharded and slot-based plans nest their stages differently
+    static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            return stage.equals(document.get("stage")) || document.entrySet().stream()
+                    .anyMatch(entry -> !"rejectedPlans".equals(entry.getKey()) && containsStage(entry.getValue(), stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
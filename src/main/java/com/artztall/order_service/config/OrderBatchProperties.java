@@ -0,0 +1,18 @@
+package com.artztall.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits for {@code POST /api/orders/batch}. Lookups and reservations fan out concurrently; keep the
+ * concurrency at or below the product-service bulkhead size or calls will be rejected.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.batch")
+public class OrderBatchProperties {
+    private int maxSize = 100;
+    private int lookupConcurrency = 16;
+    private int reserveConcurrency = 8;
+}
@@ -0,0 +1,30 @@
+package com.artztall.order_service.config;
+
+import com.artztall.order_service.dto.ProductResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ProductCacheConfig {
+
+    @Bean
+    public Cache<String, ProductResponseDTO> productSnapshotCache(
+            @Value("${orders.product-cache.ttl:30s}") Duration ttl,
+            @Value("${orders.product-cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        Cache<String, ProductResponseDTO> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        // Exposes cache.gets{result=hit|miss}, cache.evictions and cache.size under cache=product-snapshot
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "product-snapshot");
+    }
+}
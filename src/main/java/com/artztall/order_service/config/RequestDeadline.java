@@ -0,0 +1,54 @@
+package com.artztall.order_service.config;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request being handled on the current thread. Set by {@link RequestDeadlineFilter};
+ * outbound calls cap their timeouts to what is left of it. Work that is not tied to a request, such
+ * as scheduled jobs, has no deadline.
+ */
+public final class RequestDeadline {
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(Duration budget) {
+        DEADLINE_NANOS.set(System.nanoTime() + budget.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /** Time left before the deadline, possibly zero or negative, or empty outside a request. */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? Optional.empty() : Optional.of(Duration.ofNanos(deadline - System.nanoTime()));
+    }
+
+    /** Wraps the task so that it runs under the calling thread's deadline on whichever thread executes it. */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = DEADLINE_NANOS.get();
+            DEADLINE_NANOS.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    DEADLINE_NANOS.remove();
+                } else {
+                    DEADLINE_NANOS.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.artztall.order_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Starts the deadline budget for each request. Callers may pass a tighter or longer budget in
+ * {@code X-Request-Timeout-Ms}; it is capped at {@code orders.resilience.max-deadline}.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    private final ResilienceProperties properties;
+
+    public RequestDeadlineFilter(ResilienceProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline.set(budget(request.getHeader(RequestDeadline.HEADER)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    Duration budget(String header) {
+        Duration budget = properties.getDefaultDeadline();
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis > 0) {
+                    budget = Duration.ofMillis(millis);
+                }
+            } catch (NumberFormatException ignored) {
+                // Fall back to the default budget
+            }
+        }
+        return budget.compareTo(properties.getMaxDeadline()) > 0 ? properties.getMaxDeadline() : budget;
+    }
+}
@@ -0,0 +1,38 @@
+package com.artztall.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Deadline budget for incoming requests and failure handling for calls to product-service. Every
+ * product-service operation (get, reserve, release) gets its own circuit breaker and bulkhead built
+ * from these settings, so a failing reserve endpoint does not stop product lookups.
+ */
+@Data
+@ConfigurationProperties(prefix = "orders.resilience")
+public class ResilienceProperties {
+    /** Budget given to a request that does not send {@code X-Request-Timeout-Ms}. */
+    private Duration defaultDeadline = Duration.ofSeconds(10);
+    /** Upper bound on the budget a caller may ask for. */
+    private Duration maxDeadline = Duration.ofSeconds(30);
+    private Downstream productService = new Downstream();
+
+    @Data
+    public static class Downstream {
+        /** Per-attempt timeout when the caller's remaining budget is larger or there is no request. */
+        private Duration callTimeout = Duration.ofSeconds(3);
+        private float failureRateThreshold = 50;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private float slowCallRateThreshold = 80;
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+        /** Concurrent calls allowed per operation; further calls are rejected instead of queued. */
+        private int maxConcurrentCalls = 50;
+        /** Delay before a second product lookup is sent; zero disables hedging. */
+        private Duration hedgeDelay = Duration.ZERO;
+    }
+}
@@ -0,0 +1,47 @@
+package com.artztall.order_service.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads for our own blocking work (outbox delivery, product releases from the sweeper). With
+ * {@code spring.threads.virtual.enabled=true} Boot already moves Tomcat request handling,
+ * {@code @Scheduled} jobs and the application task executor onto virtual threads; these beans
+ * follow the same switch so outbound blocking calls park a virtual thread instead of a pool thread.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadFactory blockingTaskThreadFactory() {
+        return Thread.ofVirtual().name("blocking-task-", 0).factory();
+    }
+
+    @Bean(name = "blockingTaskThreadFactory")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadFactory platformBlockingTaskThreadFactory() {
+        return new CustomizableThreadFactory("blocking-task-");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Scheduler blockingCallScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "blocking-call");
+    }
+
+    // boundedElastic is shared and owned by Reactor, so it is not disposed with the context
+    @Bean(name = "blockingCallScheduler", destroyMethod = "")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler platformBlockingCallScheduler() {
+        return Schedulers.boundedElastic();
+    }
+}
@@ -1,28 +1,61 @@
 package com.artztall.order_service.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
+@EnableConfigurationProperties(DownstreamClientProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfig.class)
 public class WebClientConfig {
 
     @Bean
+    @LoadBalanced
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
 
     @Bean
-    public WebClient productServiceWebClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder
-                .baseUrl("http://localhost:8082")
+    public WebClient productServiceWebClient(WebClient.Builder webClientBuilder, DownstreamClientProperties properties) {
+        return webClientBuilder.clone()
+                .baseUrl(properties.getProductService().getBaseUrl())
+                .clientConnector(connector("product-service", properties.getProductService()))
                 .build();
     }
 
     @Bean
-    public WebClient notificationServiceWebClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder
-                .baseUrl("http://localhost:8085")
+    public WebClient notificationServiceWebClient(WebClient.Builder webClientBuilder, DownstreamClientProperties properties) {
+        return webClientBuilder.clone()
+                .baseUrl(properties.getNotificationService().getBaseUrl())
+                .clientConnector(connector("notification-service", properties.getNotificationService()))
+                .build();
+    }
+
+    // One pool per downstream so a slow service cannot exhaust connections needed by the other.
+    // metrics(true) publishes reactor.netty.connection.provider.* (active, idle, pending, acquire time)
+    // tagged with the pool name and remote address.
+    private ReactorClientHttpConnector connector(String poolName, DownstreamClientProperties.Client client) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(poolName)
+                .maxConnections(client.getMaxConnections())
+                .pendingAcquireMaxCount(client.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+                .maxIdleTime(client.getMaxIdleTime())
+                .maxLifeTime(client.getMaxLifeTime())
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
                 .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .responseTimeout(client.getResponseTimeout());
+        return new ReactorClientHttpConnector(httpClient);
     }
-}
\ No newline at end of file
+}
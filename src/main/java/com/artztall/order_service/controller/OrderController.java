@@ -1,8 +1,21 @@
 package com.artztall.order_service.controller;
 
+import com.artztall.order_service.dto.ArtisanSalesSummaryDTO;
+import com.artztall.order_service.dto.OrderBatchResultDTO;
 import com.artztall.order_service.dto.OrderCreateDTO;
+import com.artztall.order_service.dto.OrderExportFormat;
+import com.artztall.order_service.dto.OrderPageDTO;
 import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.dto.OrderStatusBatchResultDTO;
+import com.artztall.order_service.dto.OrderStatusEventDTO;
+import com.artztall.order_service.dto.OrderStatusUpdateDTO;
+import com.artztall.order_service.dto.OrderSummaryDTO;
+import com.artztall.order_service.dto.OrderSummaryPageDTO;
+import com.artztall.order_service.exception.InvalidExportRangeException;
 import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.service.IdempotencyService;
+import com.artztall.order_service.service.OrderEventHub;
+import com.artztall.order_service.service.OrderExportService;
 import com.artztall.order_service.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,18 +25,39 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 @Tag(name = "Order Management", description = "APIs for managing customer orders")
 public class OrderController {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderEventHub orderEventHub;
+    private final OrderExportService orderExportService;
 
     @PostMapping
     @Operation(
@@ -44,23 +78,74 @@ public class OrderController {
                     description = "Invalid input supplied",
                     content = @Content
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "A request with the same Idempotency-Key is still being processed",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Idempotency-Key was already used for a different request",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
                     content = @Content
             )
     })
-    public ResponseEntity<OrderResponseDTO> createOrder(
+    public CompletableFuture<ResponseEntity<OrderResponseDTO>> createOrder(
+            @Parameter(description = "Client-chosen key that makes retries return the original order instead of creating another")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Parameter(description = "Order creation details", required = true)
             @RequestBody OrderCreateDTO orderCreateDTO
     ) {
-        return new ResponseEntity<>(orderService.createOrder(orderCreateDTO), HttpStatus.CREATED);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return orderService.createOrder(orderCreateDTO)
+                    .thenApply(order -> new ResponseEntity<>(order, HttpStatus.CREATED));
+        }
+        return idempotencyService.createOrder(idempotencyKey, orderCreateDTO, () -> orderService.createOrder(orderCreateDTO))
+                .thenApply(outcome -> ResponseEntity.status(HttpStatus.CREATED)
+                        .header(IDEMPOTENT_REPLAY_HEADER, String.valueOf(outcome.replayed()))
+                        .body(outcome.order()));
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create orders in bulk",
+            description = "Creates many orders in one request. Products are looked up and reserved together and each order gets its own result, so some orders may be created while others fail"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see the per-order results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderBatchResultDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty batch or batch larger than the configured maximum",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Product service unavailable",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderBatchResultDTO> createOrders(
+            @Parameter(description = "Orders to create", required = true)
+            @RequestBody List<OrderCreateDTO> orderCreateDTOs
+    ) {
+        return ResponseEntity.ok(orderService.createOrders(orderCreateDTOs));
     }
 
     @GetMapping("/{orderId}")
     @Operation(
             summary = "Get order by ID",
-            description = "Retrieves the details of a specific order using its ID"
+            description = "Retrieves the details of a specific order using its ID. Add view=summary for the compact order summary"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -71,6 +156,11 @@ public class OrderController {
                             schema = @Schema(implementation = OrderResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Order unchanged since the ETag sent in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Order not found",
@@ -84,15 +174,94 @@ public class OrderController {
     })
     public ResponseEntity<OrderResponseDTO> getOrder(
             @Parameter(description = "ID of the order to retrieve", required = true)
+            @PathVariable String orderId,
+            WebRequest request
+    ) {
+        OrderResponseDTO order = orderService.getOrder(orderId);
+        String etag = etag(order);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(order);
+    }
+
+    @GetMapping(value = "/{orderId}", params = "view=summary")
+    @Operation(
+            summary = "Get order summary by ID",
+            description = "Retrieves the compact summary of an order; only the summary fields are read from the database"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderSummaryDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Order unchanged since the ETag sent in If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Order not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Orders are still being migrated to the compact schema",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderSummaryDTO> getOrderSummary(
+            @Parameter(description = "ID of the order to retrieve", required = true)
+            @PathVariable String orderId,
+            WebRequest request
+    ) {
+        OrderSummaryDTO order = orderService.getOrderSummary(orderId);
+        String etag = etag(order.getId(), order.getVersion());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(order);
+    }
+
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream status changes of an order",
+            description = "Opens a Server-Sent Events stream that starts with the order's current status and then "
+                    + "pushes an order-status event on every change, replacing polling of GET /api/orders/{orderId}"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = OrderStatusEventDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Order not found",
+                    content = @Content
+            )
+    })
+    public SseEmitter streamOrderEvents(
+            @Parameter(description = "ID of the order to follow", required = true)
             @PathVariable String orderId
     ) {
-        return ResponseEntity.ok(orderService.getOrder(orderId));
+        OrderResponseDTO order = orderService.getOrder(orderId);
+        return orderEventHub.subscribeToOrder(new OrderStatusEventDTO(order.getId(), order.getUserId(),
+                order.getStatus(), order.getPaymentStatus(), order.getVersion(), order.getUpdatedAt()));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(
             summary = "Get all orders for a user",
-            description = "Retrieves all orders associated with a specific user ID"
+            description = "Retrieves all orders associated with a specific user ID. Add view=summary for compact order summaries"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -103,6 +272,11 @@ public class OrderController {
                             schema = @Schema(implementation = OrderResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Orders unchanged since the ETag sent in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "User not found",
@@ -116,15 +290,172 @@ public class OrderController {
     })
     public ResponseEntity<List<OrderResponseDTO>> getUserOrders(
             @Parameter(description = "ID of the user whose orders to retrieve", required = true)
+            @PathVariable String userId,
+            WebRequest request
+    ) {
+        List<OrderResponseDTO> orders = orderService.getUserOrders(userId);
+        String etag = etag(orders);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(orders);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "view=summary")
+    @Operation(
+            summary = "Get order summaries for a user",
+            description = "Retrieves the compact summaries of all of a user's orders newest first; only the summary fields are read from the database"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order summaries retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderSummaryDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Orders unchanged since the ETag sent in If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Orders are still being migrated to the compact schema",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<OrderSummaryDTO>> getUserOrderSummaryList(
+            @Parameter(description = "ID of the user whose orders to retrieve", required = true)
+            @PathVariable String userId,
+            WebRequest request
+    ) {
+        List<OrderSummaryDTO> orders = orderService.getUserOrderSummaries(userId);
+        String etag = etag(orders.stream().map(order -> order.getId() + ":" + versionOf(order.getVersion())));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(orders);
+    }
+
+    @GetMapping("/user/{userId}/page")
+    @Operation(
+            summary = "Get a page of orders for a user",
+            description = "Retrieves a user's orders newest first. Pass the returned nextCursor to fetch the following page. "
+                    + "Add view=summary for a page of compact order summaries, as returned by /summaries"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Orders retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderPageDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor supplied",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderPageDTO> getUserOrdersPage(
+            @Parameter(description = "ID of the user whose orders to retrieve", required = true)
+            @PathVariable String userId,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(orderService.getUserOrdersPage(userId, cursor, limit));
+    }
+
+    @GetMapping(value = "/user/{userId}/page", params = "view=summary")
+    @Operation(
+            summary = "Get a page of order summaries for a user",
+            description = "Same as GET /api/orders/user/{userId}/summaries"
+    )
+    public ResponseEntity<OrderSummaryPageDTO> getUserOrdersSummaryPage(
+            @Parameter(description = "ID of the user whose orders to retrieve", required = true)
+            @PathVariable String userId,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return getUserOrderSummaries(userId, cursor, limit);
+    }
+
+    @GetMapping(value = "/user/{userId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream status changes of a user's orders",
+            description = "Opens a Server-Sent Events stream of order-status events for every order the user places "
+                    + "or that changes status. Open the stream before loading the order list so no change is missed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = OrderStatusEventDTO.class)
+                    )
+            )
+    })
+    public SseEmitter streamUserOrderEvents(
+            @Parameter(description = "ID of the user whose orders to follow", required = true)
             @PathVariable String userId
     ) {
-        return ResponseEntity.ok(orderService.getUserOrders(userId));
+        return orderEventHub.subscribeToUser(userId);
+    }
+
+    @GetMapping("/user/{userId}/summaries")
+    @Operation(
+            summary = "Get a page of order summaries for a user",
+            description = "Retrieves a compact view of a user's orders newest first, paged like /page. Only the summary fields are read from the database; "
+                    + "use GET /api/orders/{orderId} for the full order"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order summaries retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderSummaryPageDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor supplied",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderSummaryPageDTO> getUserOrderSummaries(
+            @Parameter(description = "ID of the user whose orders to retrieve", required = true)
+            @PathVariable String userId,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(orderService.getUserOrderSummaries(userId, cursor, limit));
     }
 
     @PutMapping("/{orderId}/status")
     @Operation(
             summary = "Update order status",
-            description = "Updates the status of a specific order"
+            description = "Moves a specific order to a new status if the transition is allowed from its current status"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -145,6 +476,11 @@ public class OrderController {
                     description = "Invalid status supplied",
                     content = @Content
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Transition not allowed from the current status, or the order is not at the expected version",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
@@ -155,9 +491,38 @@ public class OrderController {
             @Parameter(description = "ID of the order to update", required = true)
             @PathVariable String orderId,
             @Parameter(description = "New status for the order", required = true)
-            @RequestParam OrderStatus status
+            @RequestParam OrderStatus status,
+            @Parameter(description = "Only apply the change if the order is still at this version")
+            @RequestParam(required = false) Long expectedVersion
+    ) {
+        return ResponseEntity.ok(orderService.updateOrderStatus(orderId, status, expectedVersion));
+    }
+
+    @PutMapping("/status/batch")
+    @Operation(
+            summary = "Update order statuses in bulk",
+            description = "Moves many orders to new statuses in one request. Each change is applied only if the order is still in the status (and at the version) it was read in, and each gets its own result, so some orders may be updated while others fail. Every affected user gets one notification covering all of their orders"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see the per-order results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderStatusBatchResultDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty batch or batch larger than the configured maximum",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderStatusBatchResultDTO> updateOrderStatuses(
+            @Parameter(description = "Status changes to apply", required = true)
+            @RequestBody List<OrderStatusUpdateDTO> updates
     ) {
-        return ResponseEntity.ok(orderService.updateOrderStatus(orderId, status));
+        return ResponseEntity.ok(orderService.updateOrderStatuses(updates));
     }
 
     @DeleteMapping("/{orderId}")
@@ -193,7 +558,7 @@ public class OrderController {
 
     @Operation(
             summary = "Get an order by artisan id",
-            description = "get a specific artisan's orders"
+            description = "get a specific artisan's orders. Add view=summary for compact order summaries"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -218,5 +583,228 @@ public class OrderController {
         return ResponseEntity.ok(artisanOrders);
     }
 
+    @GetMapping(value = "/artisan/{artisanId}", params = "view=summary")
+    @Operation(
+            summary = "Get order summaries by artisan id",
+            description = "Retrieves the compact summaries of an artisan's paid orders newest first; only the summary fields are read from the database"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order summaries retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderSummaryDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Orders are still being migrated to the compact schema",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<OrderSummaryDTO>> getArtisanOrderSummaryList(@PathVariable String artisanId) {
+        return ResponseEntity.ok(orderService.getArtisanOrderSummaries(artisanId));
+    }
 
-}
\ No newline at end of file
+    @GetMapping("/artisan/{artisanId}/page")
+    @Operation(
+            summary = "Get a page of orders by artisan id",
+            description = "Retrieves an artisan's paid orders newest first. Pass the returned nextCursor to fetch the following page. "
+                    + "Add view=summary for a page of compact order summaries, as returned by /summaries"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Artisan's Orders",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderPageDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor supplied",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderPageDTO> getOrdersByArtisanPage(
+            @Parameter(description = "ID of the artisan whose orders to retrieve", required = true)
+            @PathVariable String artisanId,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(orderService.getOrdersByArtisanPage(artisanId, cursor, limit));
+    }
+
+    @GetMapping(value = "/artisan/{artisanId}/page", params = "view=summary")
+    @Operation(
+            summary = "Get a page of order summaries by artisan id",
+            description = "Same as GET /api/orders/artisan/{artisanId}/summaries"
+    )
+    public ResponseEntity<OrderSummaryPageDTO> getOrdersByArtisanSummaryPage(
+            @Parameter(description = "ID of the artisan whose orders to retrieve", required = true)
+            @PathVariable String artisanId,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return getArtisanOrderSummaries(artisanId, cursor, limit);
+    }
+
+    @GetMapping("/artisan/{artisanId}/summaries")
+    @Operation(
+            summary = "Get a page of order summaries by artisan id",
+            description = "Retrieves a compact view of an artisan's paid orders newest first, paged like /page. Only the summary fields are read from the database; "
+                    + "use GET /api/orders/{orderId} for the full order"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Order summaries retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderSummaryPageDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor supplied",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<OrderSummaryPageDTO> getArtisanOrderSummaries(
+            @Parameter(description = "ID of the artisan whose orders to retrieve", required = true)
+            @PathVariable String artisanId,
+            @Parameter(description = "Continuation token from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 20, max 100)")
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(orderService.getArtisanOrderSummaries(artisanId, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export orders",
+            description = "Streams the orders created in [from, to) as NDJSON or CSV, oldest first, optionally limited "
+                    + "to one status and one artist. The response is gzip-compressed when the client accepts gzip"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Export streamed",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range supplied",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Orders are still being migrated to the compact layout",
+                    content = @Content
+            )
+    })
+    // Written on the request thread rather than as a StreamingResponseBody, so long exports are not cut off by
+    // the async request timeout
+    public void exportOrders(
+            @Parameter(description = "Start of the creation date range, inclusive", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the creation date range, exclusive (default now)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Only export orders in this status")
+            @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Only export orders of this artist")
+            @RequestParam(required = false) String artistId,
+            @Parameter(description = "NDJSON (default) or CSV")
+            @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) throws IOException {
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        if (!from.isBefore(until)) {
+            throw new InvalidExportRangeException("'from' must be before 'to'");
+        }
+        orderExportService.checkAvailable();
+        response.setContentType(format.contentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("orders." + format.extension()).build().toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            orderExportService.export(from, until, status, artistId, format, response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 8192);
+        orderExportService.export(from, until, status, artistId, format, gzip);
+        gzip.finish();
+    }
+
+    @GetMapping("/artisan/{artisanId}/summary")
+    @Operation(
+            summary = "Get an artisan's sales summary",
+            description = "Returns completed order count, revenue and order counts by status for an artisan"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sales summary retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ArtisanSalesSummaryDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ArtisanSalesSummaryDTO> getArtisanSalesSummary(
+            @Parameter(description = "ID of the artisan", required = true)
+            @PathVariable String artisanId
+    ) {
+        return ResponseEntity.ok(orderService.getArtisanSalesSummary(artisanId));
+    }
+
+    // Every write bumps the order version, so id and version identify the representation without hashing it
+    static String etag(OrderResponseDTO order) {
+        return etag(order.getId(), order.getVersion());
+    }
+
+    static String etag(List<OrderResponseDTO> orders) {
+        return etag(orders.stream().map(order -> order.getId() + ":" + versionOf(order.getVersion())));
+    }
+
+    private static String etag(String orderId, Long version) {
+        return "\"" + orderId + "-" + versionOf(version) + "\"";
+    }
+
+    private static String etag(Stream<String> versions) {
+        String joined = versions.collect(Collectors.joining(","));
+        return "\"" + DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0 : version;
+    }
+}
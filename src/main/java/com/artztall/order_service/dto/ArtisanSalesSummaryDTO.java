@@ -0,0 +1,16 @@
+package com.artztall.order_service.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class ArtisanSalesSummaryDTO {
+    private String artistId;
+    private long completedOrders;
+    private BigDecimal revenue;
+    private Map<String, Long> statusCounts;
+    private LocalDateTime updatedAt;
+}
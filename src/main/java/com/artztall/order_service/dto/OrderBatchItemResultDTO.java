@@ -0,0 +1,23 @@
+package com.artztall.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchItemResultDTO {
+    private int index;
+    private boolean success;
+    private OrderResponseDTO order;
+    private String error;
+
+    public static OrderBatchItemResultDTO created(int index, OrderResponseDTO order) {
+        return new OrderBatchItemResultDTO(index, true, order, null);
+    }
+
+    public static OrderBatchItemResultDTO failed(int index, String error) {
+        return new OrderBatchItemResultDTO(index, false, null, error);
+    }
+}
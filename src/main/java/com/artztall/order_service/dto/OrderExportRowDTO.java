@@ -0,0 +1,30 @@
+package com.artztall.order_service.dto;
+
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One order as exported for reporting and reconciliation, flat so it maps onto a CSV row. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderExportRowDTO {
+    private String id;
+    private String userId;
+    private String productId;
+    private String productName;
+    private String artistId;
+    private int quantity;
+    private BigDecimal price;
+    private BigDecimal subtotal;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
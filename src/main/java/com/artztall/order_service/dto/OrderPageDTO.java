@@ -0,0 +1,15 @@
+package com.artztall.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderPageDTO {
+    private List<OrderResponseDTO> items;
+    private String nextCursor;
+}
@@ -25,5 +25,6 @@ public class OrderResponseDTO {
     private String specialInstructions;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
 
@@ -0,0 +1,24 @@
+package com.artztall.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusBatchItemResultDTO {
+    private int index;
+    private String orderId;
+    private boolean success;
+    private OrderResponseDTO order;
+    private String error;
+
+    public static OrderStatusBatchItemResultDTO updated(int index, OrderResponseDTO order) {
+        return new OrderStatusBatchItemResultDTO(index, order.getId(), true, order, null);
+    }
+
+    public static OrderStatusBatchItemResultDTO failed(int index, String orderId, String error) {
+        return new OrderStatusBatchItemResultDTO(index, orderId, false, null, error);
+    }
+}
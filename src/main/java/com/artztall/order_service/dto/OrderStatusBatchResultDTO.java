@@ -0,0 +1,16 @@
+package com.artztall.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusBatchResultDTO {
+    private int updated;
+    private int failed;
+    private List<OrderStatusBatchItemResultDTO> results;
+}
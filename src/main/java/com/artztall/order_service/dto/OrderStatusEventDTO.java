@@ -0,0 +1,22 @@
+package com.artztall.order_service.dto;
+
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Pushed to order and user event streams whenever an order is created or changes status. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusEventDTO {
+    private String orderId;
+    private String userId;
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private Long version;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.artztall.order_service.dto;
+
+import com.artztall.order_service.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusUpdateDTO {
+    private String orderId;
+    private OrderStatus status;
+    /** Only apply the change if the order is still at this version; null applies it at any version. */
+    private Long expectedVersion;
+}
@@ -0,0 +1,32 @@
+package com.artztall.order_service.dto;
+
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Compact order representation for list views: what an order history or sales table shows, without
+ * the artwork details, shipping address and instructions of {@link OrderResponseDTO}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSummaryDTO {
+    private String id;
+    private String userId;
+    private String productId;
+    private String productName;
+    private String artistId;
+    private int quantity;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,15 @@
+package com.artztall.order_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.artztall.order_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidExportRangeException extends RuntimeException {
+    public InvalidExportRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.artztall.order_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SchemaMigrationInProgressException extends RuntimeException {
+    public SchemaMigrationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.artztall.order_service.model;
+
+import lombok.Data;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals for one artisan, keyed by artist id. Maintained with $inc on every order status
+ * change so dashboards read a single small document instead of scanning orders. {@code version} is
+ * bumped by every write so a rebuild can tell whether increments landed while it was counting;
+ * {@code building} marks a summary that has been claimed but not built yet. {@code countedAt} is when
+ * the last rebuild started counting: changes made before it are in the totals already.
+ */
+@Data
+@Document(collection = "artisan_sales_summaries")
+public class ArtisanSalesSummary {
+    private String id;
+    private long completedOrders;
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private Map<String, Long> statusCounts = new HashMap<>();
+    private LocalDateTime updatedAt;
+    private long version;
+    private boolean building;
+    private LocalDateTime countedAt;
+}
@@ -0,0 +1,21 @@
+package com.artztall.order_service.model;
+
+import com.artztall.order_service.dto.OrderResponseDTO;
+import lombok.Data;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    private String id;
+    private String requestHash;
+    private IdempotencyStatus status;
+    private OrderResponseDTO response;
+    private LocalDateTime lockedUntil;
+    // MongoDB removes the record once this time has passed
+    @Indexed(name = "expires_at_ttl", expireAfter = "0s")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.artztall.order_service.model;
+
+import com.artztall.order_service.dto.NotificationSendDTO;
+import lombok.Data;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "notification_outbox")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class NotificationOutboxEntry {
+    private String id;
+    private NotificationSendDTO payload;
+    private NotificationOutboxStatus status;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private String claimedBy;
+    private LocalDateTime claimedUntil;
+    private String lastError;
+}
@@ -0,0 +1,6 @@
+package com.artztall.order_service.model;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    FAILED
+}
@@ -1,20 +1,49 @@
 package com.artztall.order_service.model;
 
 import lombok.Data;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
 
+// Stored with short keys, Decimal128 amounts and status codes; queries keep using the property names
 @Data
+@Document
+@CompoundIndexes({
+        @CompoundIndex(name = "user_created", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+        // Date-range exports; an artist filter is served by the artist index instead
+        @CompoundIndex(name = "created", def = "{'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "artist_payment_created_v2", def = "{'item.artistId': 1, 'paymentStatus': 1, 'createdAt': -1, '_id': -1}"),
+        // Only PENDING orders (status code P) are swept and counted, so the rest stay out of this index
+        @CompoundIndex(name = "pending_created", def = "{'createdAt': 1}", partialFilter = "{'status': 'P'}")
+})
 public class Order {
     private String id;
+    @Field("u")
     private String userId;
+    @Field("i")
     private OrderItem item;
+    @Field(name = "t", targetType = FieldType.DECIMAL128)
     private BigDecimal totalAmount;
+    @Field("s")
     private OrderStatus status;
+    @Field("p")
     private PaymentStatus paymentStatus;
+    @Field("a")
     private String shippingAddress;
+    @Field("n")
     private String specialInstructions;
+    @Field("c")
     private LocalDateTime createdAt;
+    @Field("m")
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+    // Bumped on every change; orders written before versioning have none and count as version 0
+    @Version
+    @Field("v")
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package com.artztall.order_service.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry in the capped collection that tells other instances an order (and its owner's order list)
+ * changed. Only the ids travel; every instance drops its own cached copy and reloads on demand.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "order_cache_events")
+public class OrderCacheEvent {
+    private String id;
+    private String orderId;
+    private String userId;
+    private String origin;
+    private LocalDateTime createdAt;
+}
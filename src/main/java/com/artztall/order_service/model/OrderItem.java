@@ -1,10 +1,10 @@
 package com.artztall.order_service.model;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
-
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 
@@ -12,14 +12,24 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 public class OrderItem {
+    @Field("p")
     private String productId;
+    @Field("n")
     private String productName;
+    @Field("a")
     private String artistId;
+    @Field("q")
     private int quantity;
+    @Field(name = "pr", targetType = FieldType.DECIMAL128)
     private BigDecimal price;
+    @Field(name = "st", targetType = FieldType.DECIMAL128)
     private BigDecimal subtotal;
+    @Field("img")
     private String imageUrl;
+    @Field("d")
     private ProductDimensions dimensions;
+    @Field("md")
     private String medium;
+    @Field("sy")
     private String style;
-}
\ No newline at end of file
+}
@@ -1,11 +1,73 @@
 package com.artztall.order_service.model;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
-    PENDING,
-    CONFIRMED,
-    PROCESSING,
-    SHIPPED,
-    DELIVERED,
-    CANCELLED,
-    EXPIRED
+    PENDING("P"),
+    CONFIRMED("C"),
+    PROCESSING("R"),
+    SHIPPED("S"),
+    DELIVERED("D"),
+    CANCELLED("X"),
+    EXPIRED("E");
+
+    // Allowed moves; DELIVERED, CANCELLED and EXPIRED are final
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED, EXPIRED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PROCESSING, SHIPPED, CANCELLED));
+        TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(EXPIRED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus status : values()) {
+            PREDECESSORS.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> PREDECESSORS.get(to).add(from)));
+    }
+
+    private final String code;
+
+    OrderStatus(String code) {
+        this.code = code;
+    }
+
+    /** Short code persisted in order documents in place of the name. */
+    public String code() {
+        return code;
+    }
+
+    public static OrderStatus fromCode(String code) {
+        for (OrderStatus status : values()) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status code: " + code);
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    /** Statuses an order may be in for it to move to this one. */
+    public Set<OrderStatus> predecessors() {
+        return PREDECESSORS.get(this);
+    }
+
+    /** Payment status implied by entering this status, or null when entering it leaves payment as is. */
+    public PaymentStatus impliedPaymentStatus() {
+        return switch (this) {
+            case CONFIRMED -> PaymentStatus.COMPLETED;
+            case EXPIRED -> PaymentStatus.FAILED;
+            default -> null;
+        };
+    }
 }
@@ -1,8 +1,28 @@
 package com.artztall.order_service.model;
 
 public enum PaymentStatus {
-    PENDING,
-    COMPLETED,
-    FAILED,
-    REFUNDED
+    PENDING("P"),
+    COMPLETED("C"),
+    FAILED("F"),
+    REFUNDED("R");
+
+    private final String code;
+
+    PaymentStatus(String code) {
+        this.code = code;
+    }
+
+    /** Short code persisted in order documents in place of the name. */
+    public String code() {
+        return code;
+    }
+
+    public static PaymentStatus fromCode(String code) {
+        for (PaymentStatus status : values()) {
+            if (status.code.equals(code)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payment status code: " + code);
+    }
 }
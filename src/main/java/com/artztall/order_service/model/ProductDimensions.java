@@ -3,12 +3,16 @@ package com.artztall.order_service.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class ProductDimensions {
+    @Field("l")
     private Double length;
+    @Field("w")
     private Double width;
+    @Field("u")
     private String unit;
-}
\ No newline at end of file
+}
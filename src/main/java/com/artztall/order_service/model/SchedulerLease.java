@@ -0,0 +1,14 @@
+package com.artztall.order_service.model;
+
+import lombok.Data;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "scheduler_leases")
+public class SchedulerLease {
+    private String id;
+    private String owner;
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,9 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.ArtisanSalesSummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArtisanSalesSummaryRepository extends MongoRepository<ArtisanSalesSummary, String> {
+}
@@ -0,0 +1,78 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Rewrites order documents from the original layout (full property names, amounts as strings, status
+ * names and a {@code _class} key) into the compact layout mapped on {@link com.artztall.order_service.model.Order}.
+ * Timestamps were already stored as BSON dates and are copied unchanged.
+ */
+public final class LegacyOrderDocuments {
+    private static final String TYPE_KEY = "_class";
+
+    private static final Map<String, String> ORDER_KEYS = Map.of(
+            "userId", "u", "item", "i", "totalAmount", "t", "status", "s", "paymentStatus", "p",
+            "shippingAddress", "a", "specialInstructions", "n", "createdAt", "c", "updatedAt", "m", "version", "v");
+    private static final Map<String, String> ITEM_KEYS = Map.of(
+            "productId", "p", "productName", "n", "artistId", "a", "quantity", "q", "price", "pr",
+            "subtotal", "st", "imageUrl", "img", "dimensions", "d", "medium", "md", "style", "sy");
+    private static final Map<String, String> DIMENSION_KEYS = Map.of("length", "l", "width", "w", "unit", "u");
+
+    private LegacyOrderDocuments() {
+    }
+
+    /** Every order has a user, so its long key marks a document that has not been migrated. */
+    public static boolean isLegacy(Document document) {
+        return document.containsKey("userId");
+    }
+
+    public static Document toCompact(Document legacy) {
+        return rename(legacy, ORDER_KEYS, (key, value) -> switch (key) {
+            case "item" -> value instanceof Document item ? toCompactItem(item) : value;
+            case "totalAmount" -> toDecimal128(value);
+            case "status" -> value instanceof String name ? OrderStatus.valueOf(name).code() : value;
+            case "paymentStatus" -> value instanceof String name ? PaymentStatus.valueOf(name).code() : value;
+            default -> value;
+        });
+    }
+
+    private static Document toCompactItem(Document item) {
+        return rename(item, ITEM_KEYS, (key, value) -> switch (key) {
+            case "price", "subtotal" -> toDecimal128(value);
+            case "dimensions" -> value instanceof Document dimensions
+                    ? rename(dimensions, DIMENSION_KEYS, (dimensionKey, dimension) -> dimension)
+                    : value;
+            default -> value;
+        });
+    }
+
+    // Keys that are not part of the old layout are kept as they are, so a partly migrated document is left intact
+    private static Document rename(Document source, Map<String, String> keys, ValueMapper values) {
+        Document target = new Document();
+        source.forEach((key, value) -> {
+            if (!TYPE_KEY.equals(key)) {
+                target.put(keys.getOrDefault(key, key), values.map(key, value));
+            }
+        });
+        return target;
+    }
+
+    private static Object toDecimal128(Object value) {
+        if (value instanceof Decimal128 || !(value instanceof String || value instanceof Number)) {
+            return value;
+        }
+        return new Decimal128(new BigDecimal(value.toString()));
+    }
+
+    @FunctionalInterface
+    private interface ValueMapper {
+        Object map(String key, Object value);
+    }
+}
@@ -0,0 +1,25 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.Order;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upgrades order documents the schema migration has not reached yet, in memory and before they are
+ * mapped, so orders stay readable while the migration is running.
+ */
+@Component
+public class LegacyOrderReadListener extends AbstractMongoEventListener<Order> {
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<Order> event) {
+        Document document = event.getDocument();
+        if (document != null && LegacyOrderDocuments.isLegacy(document)) {
+            Document compact = LegacyOrderDocuments.toCompact(document);
+            document.clear();
+            document.putAll(compact);
+        }
+    }
+}
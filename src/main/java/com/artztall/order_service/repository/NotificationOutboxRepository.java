@@ -0,0 +1,14 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.NotificationOutboxEntry;
+import com.artztall.order_service.model.NotificationOutboxStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends MongoRepository<NotificationOutboxEntry, String> {
+    List<NotificationOutboxEntry> findByClaimedBy(String claimedBy);
+    long countByStatus(NotificationOutboxStatus status);
+}
@@ -0,0 +1,38 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * Keyset position in a newest-first order listing. Encoded as an opaque URL-safe token so clients
+ * cannot depend on its layout.
+ */
+public record OrderCursor(LocalDateTime createdAt, String id) {
+
+    public String encode() {
+        long epochMillis = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String raw = epochMillis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            LocalDateTime createdAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))), ZoneId.systemDefault());
+            String id = raw.substring(separator + 1);
+            if (id.isEmpty()) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new OrderCursor(createdAt, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
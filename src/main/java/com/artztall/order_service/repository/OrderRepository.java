@@ -1,16 +1,15 @@
 package com.artztall.order_service.repository;
 
 import com.artztall.order_service.model.Order;
-import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends MongoRepository<Order, String> {
-    List<Order> findByUserId(String userId);
-    List<Order> findByStatusAndCreatedAtBefore(OrderStatus status, LocalDateTime dateTime);
-    List<Order> findByItem_ArtistId(String artistId);
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
+    List<Order> findByUserId(String userId, Pageable pageable);
+    List<Order> findByItem_ArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus, Pageable pageable);
 }
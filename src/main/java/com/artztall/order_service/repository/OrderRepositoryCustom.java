@@ -0,0 +1,44 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    List<Order> findPageByUserId(String userId, OrderCursor after, int limit);
+    List<Order> findPageByArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus, OrderCursor after, int limit);
+
+    /**
+     * Same pages as {@link #findPageByUserId} and {@link #findPageByArtistIdAndPaymentStatus}, but only
+     * the fields needed for an order summary are read; the other properties of the returned orders are null.
+     */
+    List<Order> findSummaryPageByUserId(String userId, OrderCursor after, int limit);
+    List<Order> findSummaryPageByArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus, OrderCursor after, int limit);
+
+    /** Summary fields of one order, or null when it does not exist. */
+    Order findSummaryById(String orderId);
+
+    /** Summary fields of all of a user's orders, or an artisan's orders in a payment status, newest first. */
+    List<Order> findSummariesByUserId(String userId);
+    List<Order> findSummariesByArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus);
+
+    /**
+     * Moves the order to {@code status} if it is currently in one of its predecessor statuses (and at
+     * {@code expectedVersion}, when given). Only status, paymentStatus, updatedAt and version are
+     * written. Returns the order as it was before the change, or null when nothing matched.
+     */
+    Order transitionStatus(String orderId, OrderStatus status, Long expectedVersion, LocalDateTime updatedAt);
+
+    /**
+     * Applies many transitions in one unordered bulk write, each guarded by the status and version it
+     * expects, and returns how many matched. Orders whose guard failed are left untouched.
+     */
+    int transitionStatuses(List<StatusTransition> transitions, LocalDateTime updatedAt);
+
+    /** Reads only the id, status, version and updatedAt of the given orders. */
+    List<Order> findStatesByIdIn(Collection<String> orderIds);
+}
@@ -0,0 +1,136 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+    // Everything an order summary shows; artwork details, address and instructions stay in the database
+    static final String[] SUMMARY_FIELDS = {"_id", "userId", "item.productId", "item.productName", "item.artistId",
+            "item.quantity", "totalAmount", "status", "paymentStatus", "createdAt", "updatedAt", "version"};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Order> findPageByUserId(String userId, OrderCursor after, int limit) {
+        return mongoTemplate.find(pageQuery(where("userId").is(userId), after, limit), Order.class);
+    }
+
+    @Override
+    public List<Order> findPageByArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus,
+                                                          OrderCursor after, int limit) {
+        return mongoTemplate.find(pageQuery(byArtistAndPayment(artistId, paymentStatus), after, limit), Order.class);
+    }
+
+    @Override
+    public List<Order> findSummaryPageByUserId(String userId, OrderCursor after, int limit) {
+        return findSummaries(pageQuery(where("userId").is(userId), after, limit));
+    }
+
+    @Override
+    public List<Order> findSummaryPageByArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus,
+                                                                 OrderCursor after, int limit) {
+        return findSummaries(pageQuery(byArtistAndPayment(artistId, paymentStatus), after, limit));
+    }
+
+    @Override
+    public Order findSummaryById(String orderId) {
+        Query query = new Query(where("_id").is(orderId));
+        query.fields().include(SUMMARY_FIELDS);
+        return mongoTemplate.findOne(query, Order.class);
+    }
+
+    @Override
+    public List<Order> findSummariesByUserId(String userId) {
+        return findSummaries(new Query(where("userId").is(userId)).with(NEWEST_FIRST));
+    }
+
+    @Override
+    public List<Order> findSummariesByArtistIdAndPaymentStatus(String artistId, PaymentStatus paymentStatus) {
+        return findSummaries(new Query(byArtistAndPayment(artistId, paymentStatus)).with(NEWEST_FIRST));
+    }
+
+    @Override
+    public Order transitionStatus(String orderId, OrderStatus status, Long expectedVersion, LocalDateTime updatedAt) {
+        Criteria guard = where("_id").is(orderId).and("status").in(status.predecessors());
+        if (expectedVersion != null) {
+            guard = expectedVersion == 0
+                    ? guard.orOperator(where("version").is(0L), where("version").exists(false))
+                    : guard.and("version").is(expectedVersion);
+        }
+        Update update = new Update()
+                .set("status", status)
+                .set("updatedAt", updatedAt)
+                .inc("version", 1);
+        if (status.impliedPaymentStatus() != null) {
+            update.set("paymentStatus", status.impliedPaymentStatus());
+        }
+        return mongoTemplate.findAndModify(new Query(guard), update,
+                FindAndModifyOptions.options().returnNew(false), Order.class);
+    }
+
+    @Override
+    public int transitionStatuses(List<StatusTransition> transitions, LocalDateTime updatedAt) {
+        if (transitions.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        for (StatusTransition transition : transitions) {
+            Criteria guard = where("_id").is(transition.orderId()).and("status").is(transition.from());
+            guard = transition.fromVersion() == null || transition.fromVersion() == 0
+                    ? guard.orOperator(where("version").is(0L), where("version").exists(false))
+                    : guard.and("version").is(transition.fromVersion());
+            Update update = new Update()
+                    .set("status", transition.to())
+                    .set("updatedAt", updatedAt)
+                    .inc("version", 1);
+            if (transition.to().impliedPaymentStatus() != null) {
+                update.set("paymentStatus", transition.to().impliedPaymentStatus());
+            }
+            bulk.updateOne(new Query(guard), update);
+        }
+        return bulk.execute().getMatchedCount();
+    }
+
+    @Override
+    public List<Order> findStatesByIdIn(Collection<String> orderIds) {
+        Query query = new Query(where("_id").in(orderIds));
+        query.fields().include("_id", "status", "version", "updatedAt");
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    private List<Order> findSummaries(Query query) {
+        query.fields().include(SUMMARY_FIELDS);
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    private static Criteria byArtistAndPayment(String artistId, PaymentStatus paymentStatus) {
+        return where("item.artistId").is(artistId).and("paymentStatus").is(paymentStatus);
+    }
+
+    private static Query pageQuery(Criteria filter, OrderCursor after, int limit) {
+        Query query = new Query(filter).with(NEWEST_FIRST).limit(limit);
+        if (after != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    where("createdAt").lt(after.createdAt()),
+                    where("createdAt").is(after.createdAt()).and("_id").lt(after.id())));
+        }
+        return query;
+    }
+}
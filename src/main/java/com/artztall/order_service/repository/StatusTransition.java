@@ -0,0 +1,11 @@
+package com.artztall.order_service.repository;
+
+import com.artztall.order_service.model.OrderStatus;
+
+/**
+ * One order's move to {@code to}, applied only while the order is still in {@code from} at
+ * {@code fromVersion}, the state it was read in. A null or zero version also matches an order written
+ * before versioning.
+ */
+public record StatusTransition(String orderId, OrderStatus from, Long fromVersion, OrderStatus to) {
+}
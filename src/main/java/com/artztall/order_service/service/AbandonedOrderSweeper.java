@@ -0,0 +1,240 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.NotificationSendDTO;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Expires PENDING orders whose payment window has passed. Orders normally expire on time through the
+ * OrderExpiryScheduler, which hands due ids to {@link #expireOrders}; the periodic sweep is a backstop
+ * for orders whose instance stopped before their deadline, and only the instance holding the sweeper
+ * lease runs it. Orders are processed in chunks: each chunk is expired with one updateMany guarded on
+ * status=PENDING, so an order confirmed in the meantime is left alone and never released.
+ */
+@Slf4j
+@Service
+public class AbandonedOrderSweeper {
+    static final String LEASE_NAME = "abandoned-order-sweeper";
+    // What expiring an order needs: the product to release, the user to notify and the sales figures
+    private static final String[] CANDIDATE_FIELDS = {"_id", "userId", "item.productId", "item.artistId", "totalAmount"};
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+    private final ProductClientService productClientService;
+    private final NotificationClientService notificationClientService;
+    private final ArtisanSalesService artisanSalesService;
+    private final OrderReadCache orderReadCache;
+    private final OrderSchemaMigration orderSchemaMigration;
+    private final TransactionOperations transactions;
+    private final Timer sweepDuration;
+    private final Counter expiredOrders;
+    private final Counter expiredOnTime;
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final Duration paymentWindow;
+    private final int chunkSize;
+    private final int releaseConcurrency;
+    private final Duration leaseTtl;
+
+    public AbandonedOrderSweeper(
+            MongoTemplate mongoTemplate,
+            LeaseService leaseService,
+            ProductClientService productClientService,
+            NotificationClientService notificationClientService,
+            ArtisanSalesService artisanSalesService,
+            OrderReadCache orderReadCache,
+            OrderSchemaMigration orderSchemaMigration,
+            TransactionOperations transactions,
+            MeterRegistry meterRegistry,
+            @Value("${orders.sweeper.payment-window:15m}") Duration paymentWindow,
+            @Value("${orders.sweeper.chunk-size:200}") int chunkSize,
+            @Value("${orders.sweeper.release-concurrency:8}") int releaseConcurrency,
+            @Value("${orders.sweeper.lease-ttl:5m}") Duration leaseTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+        this.productClientService = productClientService;
+        this.notificationClientService = notificationClientService;
+        this.artisanSalesService = artisanSalesService;
+        this.orderReadCache = orderReadCache;
+        this.orderSchemaMigration = orderSchemaMigration;
+        this.transactions = transactions;
+        this.paymentWindow = paymentWindow;
+        this.chunkSize = chunkSize;
+        this.releaseConcurrency = releaseConcurrency;
+        this.leaseTtl = leaseTtl;
+
+        this.sweepDuration = Timer.builder("orders.sweeper.duration")
+                .description("Time taken by one abandoned-order sweep")
+                .register(meterRegistry);
+        this.expiredOrders = meterRegistry.counter("orders.sweeper.expired");
+        this.expiredOnTime = Counter.builder("orders.expiry.expired")
+                .description("Orders expired at their deadline by the expiry scheduler")
+                .register(meterRegistry);
+        Gauge.builder("orders.sweeper.backlog", backlog, AtomicLong::get)
+                .description("Expired PENDING orders found at the start of the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${orders.sweeper.interval:300000}")
+    public void releaseAbandonedOrders() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+            log.debug("Abandoned-order sweep is running on another instance");
+            return;
+        }
+        try {
+            sweepDuration.record(this::sweep);
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    void sweep() {
+        log.info("Checking for abandoned orders...");
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(paymentWindow);
+        // Unmigrated PENDING orders would not match the queries below and would never expire
+        orderSchemaMigration.migrateMatching(Filters.and(
+                Filters.eq("status", OrderStatus.PENDING.name()), Filters.lt("createdAt", cutoff)));
+        backlog.set(mongoTemplate.count(expiredPendingOrders(cutoff), Order.class));
+
+        int expired = 0;
+        List<Order> chunk;
+        do {
+            Query candidates = expiredPendingOrders(cutoff).with(Sort.by("createdAt")).limit(chunkSize);
+            candidates.fields().include(CANDIDATE_FIELDS);
+            chunk = mongoTemplate.find(candidates, Order.class);
+            if (!chunk.isEmpty()) {
+                expired += expireChunk(chunk);
+                if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                    // The lease lapsed during the chunk and another instance took over the sweep
+                    log.warn("Lost the abandoned-order sweeper lease after expiring {} orders, stopping", expired);
+                    break;
+                }
+            }
+        } while (chunk.size() == chunkSize);
+
+        if (expired > 0) {
+            log.info("Expired {} abandoned orders", expired);
+        }
+    }
+
+    /** Expires those of the given orders that are still PENDING and returns how many were expired. */
+    public int expireOrders(Collection<String> orderIds) {
+        int expired = 0;
+        List<String> ids = List.copyOf(orderIds);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            Query candidates = query(where("_id").in(ids.subList(from, Math.min(from + chunkSize, ids.size())))
+                    .and("status").is(OrderStatus.PENDING));
+            candidates.fields().include(CANDIDATE_FIELDS);
+            List<Order> chunk = mongoTemplate.find(candidates, Order.class);
+            if (!chunk.isEmpty()) {
+                expired += expireChunk(chunk);
+            }
+        }
+        if (expired > 0) {
+            expiredOnTime.increment(expired);
+            log.info("Expired {} orders at their deadline", expired);
+        }
+        return expired;
+    }
+
+    private int expireChunk(List<Order> candidates) {
+        LocalDateTime now = LocalDateTime.now();
+        // The expiry notices commit with the expiries, so neither is stored without the other
+        List<Order> expired = transactions.execute(status -> {
+            List<Order> landed = expire(candidates, now);
+            if (!landed.isEmpty()) {
+                notificationClientService.sendNotifications(landed.stream().map(this::expiryNotification).toList());
+            }
+            return landed;
+        });
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        expired.forEach(order -> {
+            order.setStatus(OrderStatus.EXPIRED);
+            order.setPaymentStatus(PaymentStatus.FAILED);
+            order.setUpdatedAt(now);
+        });
+        orderReadCache.invalidate(expired);
+        releaseProducts(expired);
+        artisanSalesService.recordStatusChanges(expired, OrderStatus.PENDING, PaymentStatus.PENDING);
+        expiredOrders.increment(expired.size());
+        return expired.size();
+    }
+
+    private List<Order> expire(List<Order> candidates, LocalDateTime now) {
+        List<String> ids = candidates.stream().map(Order::getId).toList();
+        UpdateResult result = mongoTemplate.updateMulti(
+                query(where("_id").in(ids).and("status").is(OrderStatus.PENDING)),
+                new Update()
+                        .set("status", OrderStatus.EXPIRED)
+                        .set("paymentStatus", PaymentStatus.FAILED)
+                        .set("updatedAt", now)
+                        .inc("version", 1),
+                Order.class);
+
+        if (result.getModifiedCount() == candidates.size()) {
+            return candidates;
+        }
+        // Some orders left PENDING between the read and the update; keep only those we expired
+        Query expiredNow = query(where("_id").in(ids).and("status").is(OrderStatus.EXPIRED).and("updatedAt").is(now));
+        expiredNow.fields().include("_id");
+        Set<String> expiredIds = mongoTemplate.find(expiredNow, Order.class).stream()
+                .map(Order::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+        return candidates.stream().filter(order -> expiredIds.contains(order.getId())).toList();
+    }
+
+    private void releaseProducts(List<Order> orders) {
+        try {
+            productClientService.releaseProducts(
+                    orders.stream().map(order -> order.getItem().getProductId()).toList(), releaseConcurrency)
+                    .forEach((productId, failure) -> log.error("Failed to release product: {} of an expired order", productId, failure));
+        } catch (Exception e) {
+            log.error("Failed to release products of {} expired orders", orders.size(), e);
+        }
+    }
+
+    private NotificationSendDTO expiryNotification(Order order) {
+        NotificationSendDTO notification = new NotificationSendDTO();
+        notification.setUserId(order.getUserId());
+        notification.setMessage("Your order #" + order.getId() + " has expired due to incomplete payment.");
+        notification.setType("WARNING");
+        notification.setActionUrl("http://localhost:5173/orders/" + order.getId());
+        return notification;
+    }
+
+    private static Query expiredPendingOrders(LocalDateTime cutoff) {
+        return query(where("status").is(OrderStatus.PENDING).and("createdAt").lt(cutoff));
+    }
+}
@@ -0,0 +1,292 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.ArtisanSalesSummaryDTO;
+import com.artztall.order_service.model.ArtisanSalesSummary;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.artztall.order_service.repository.ArtisanSalesSummaryRepository;
+import com.mongodb.client.model.Filters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps {@link ArtisanSalesSummary} documents in step with order status changes. Summaries are built
+ * from the artisan's orders the first time they are read; after that every transition is applied as
+ * a single $inc so the summary never needs to rescan orders.
+ *
+ * <p>A rebuild first inserts an empty claim so transitions arriving while it counts are recorded
+ * rather than dropped, then stores its totals only if no transition touched the claim meanwhile,
+ * recounting otherwise. The stored summary remembers when its count started, and increments for
+ * changes made before that are skipped: they were counted, even if their $inc arrives afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArtisanSalesService {
+    private final MongoTemplate mongoTemplate;
+    private final ArtisanSalesSummaryRepository artisanSalesSummaryRepository;
+    private final OrderSchemaMigration orderSchemaMigration;
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+    public void recordOrderCreated(Order order) {
+        applyDelta(order, null, null, order.getStatus(), order.getPaymentStatus(), order.getUpdatedAt());
+    }
+
+    public void recordOrdersCreated(List<Order> orders) {
+        recordStatusChanges(orders, null, null);
+    }
+
+    public void recordStatusChange(Order order, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        applyDelta(order, previousStatus, previousPaymentStatus, order.getStatus(), order.getPaymentStatus(),
+                order.getUpdatedAt());
+    }
+
+    /**
+     * Applies the same transition for many orders, folding the deltas per artisan into one bulk write.
+     */
+    public void recordStatusChanges(List<Order> orders, OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        Map<DeltaKey, SummaryDelta> deltas = new LinkedHashMap<>();
+        for (Order order : orders) {
+            addDelta(deltas, order, previousStatus, previousPaymentStatus);
+        }
+        writeDeltas(deltas);
+    }
+
+    /**
+     * Applies transitions that started from different statuses in one bulk write; {@code previous}
+     * holds each order of {@code updated} as it was before its change, at the same position.
+     */
+    public void recordStatusChanges(List<Order> previous, List<Order> updated) {
+        Map<DeltaKey, SummaryDelta> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < updated.size(); i++) {
+            addDelta(deltas, updated.get(i), previous.get(i).getStatus(), previous.get(i).getPaymentStatus());
+        }
+        writeDeltas(deltas);
+    }
+
+    // Grouped by change time as well, since each write is guarded by it; a batch shares one time
+    private void addDelta(Map<DeltaKey, SummaryDelta> deltas, Order order,
+                          OrderStatus previousStatus, PaymentStatus previousPaymentStatus) {
+        String artistId = artistIdOf(order);
+        if (artistId != null) {
+            deltas.computeIfAbsent(new DeltaKey(artistId, order.getUpdatedAt()), key -> new SummaryDelta())
+                    .add(order, previousStatus, previousPaymentStatus, order.getStatus(), order.getPaymentStatus());
+        }
+    }
+
+    private void writeDeltas(Map<DeltaKey, SummaryDelta> deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArtisanSalesSummary.class);
+        int operations = 0;
+        for (Map.Entry<DeltaKey, SummaryDelta> delta : deltas.entrySet()) {
+            Update update = delta.getValue().toUpdate();
+            if (update != null) {
+                bulk.updateOne(summaryCountingChange(delta.getKey().artistId(), delta.getKey().changedAt()), update);
+                operations++;
+            }
+        }
+        if (operations == 0) {
+            return;
+        }
+        try {
+            bulk.execute();
+        } catch (Exception e) {
+            log.error("Failed to update sales summaries for {} artisans", operations, e);
+        }
+    }
+
+    public void recordOrderDeleted(Order order, LocalDateTime deletedAt) {
+        applyDelta(order, order.getStatus(), order.getPaymentStatus(), null, null, deletedAt);
+    }
+
+    public ArtisanSalesSummaryDTO getSummary(String artistId) {
+        ArtisanSalesSummary summary = artisanSalesSummaryRepository.findById(artistId)
+                .filter(stored -> !stored.isBuilding())
+                .orElseGet(() -> rebuildSummary(artistId));
+        return mapToSummaryResponse(summary);
+    }
+
+    private void applyDelta(Order order, OrderStatus fromStatus, PaymentStatus fromPayment,
+                            OrderStatus toStatus, PaymentStatus toPayment, LocalDateTime changedAt) {
+        String artistId = artistIdOf(order);
+        if (artistId == null) {
+            return;
+        }
+        SummaryDelta delta = new SummaryDelta();
+        delta.add(order, fromStatus, fromPayment, toStatus, toPayment);
+        Update update = delta.toUpdate();
+        if (update == null) {
+            return;
+        }
+
+        try {
+            // No upsert: a missing summary is built from the orders themselves on first read, and a
+            // claimed one still being built detects this write through its version
+            mongoTemplate.updateFirst(summaryCountingChange(artistId, changedAt), update, ArtisanSalesSummary.class);
+        } catch (Exception e) {
+            log.error("Failed to update sales summary for artisan: {}", artistId, e);
+        }
+    }
+
+    // Matches the summary unless a rebuild started counting after the change, and so already counted it
+    private static Query summaryCountingChange(String artistId, LocalDateTime changedAt) {
+        Criteria summary = where("_id").is(artistId);
+        if (changedAt != null) {
+            summary.orOperator(where("countedAt").exists(false), where("countedAt").lte(changedAt));
+        }
+        return query(summary);
+    }
+
+    private static String artistIdOf(Order order) {
+        return order.getItem() == null ? null : order.getItem().getArtistId();
+    }
+
+    private ArtisanSalesSummary rebuildSummary(String artistId) {
+        log.info("Building sales summary for artisan: {}", artistId);
+
+        ArtisanSalesSummary claim = new ArtisanSalesSummary();
+        claim.setId(artistId);
+        claim.setBuilding(true);
+        try {
+            artisanSalesSummaryRepository.insert(claim);
+        } catch (DuplicateKeyException e) {
+            // Already claimed, either built or being built by another request
+        }
+
+        // The summary is stored and only incremented afterwards, so it must count unmigrated orders too
+        orderSchemaMigration.migrateMatching(Filters.eq("item.artistId", artistId));
+
+        ArtisanSalesSummary summary = claim;
+        for (int attempt = 0; attempt < MAX_REBUILD_ATTEMPTS; attempt++) {
+            ArtisanSalesSummary stored = artisanSalesSummaryRepository.findById(artistId).orElse(claim);
+            if (!stored.isBuilding()) {
+                return stored;
+            }
+
+            LocalDateTime countedAt = LocalDateTime.now();
+            summary = countOrders(artistId);
+            Query unchanged = query(where("_id").is(artistId)
+                    .and("version").is(stored.getVersion())
+                    .and("building").is(true));
+            Update totals = new Update()
+                    .set("statusCounts", summary.getStatusCounts())
+                    .set("completedOrders", summary.getCompletedOrders())
+                    .set("revenue", new Decimal128(summary.getRevenue()))
+                    .set("updatedAt", summary.getUpdatedAt())
+                    .set("building", false)
+                    .set("countedAt", countedAt)
+                    .inc("version", 1);
+            ArtisanSalesSummary built = mongoTemplate.findAndModify(unchanged, totals,
+                    FindAndModifyOptions.options().returnNew(true), ArtisanSalesSummary.class);
+            if (built != null) {
+                return built;
+            }
+        }
+
+        // Left unbuilt so the next read tries again; this count is still a fair answer for now
+        log.warn("Sales summary for artisan {} kept changing during rebuild, serving an unsaved count", artistId);
+        return summary;
+    }
+
+    private ArtisanSalesSummary countOrders(String artistId) {
+        ArtisanSalesSummary summary = new ArtisanSalesSummary();
+        summary.setId(artistId);
+        summary.setStatusCounts(new HashMap<>());
+
+        Query orders = query(where("item.artistId").is(artistId));
+        orders.fields().include("status", "paymentStatus", "totalAmount");
+        try (Stream<Order> stream = mongoTemplate.stream(orders, Order.class)) {
+            stream.forEach(order -> {
+                if (order.getStatus() != null) {
+                    summary.getStatusCounts().merge(order.getStatus().name(), 1L, Long::sum);
+                }
+                if (order.getPaymentStatus() == PaymentStatus.COMPLETED) {
+                    summary.setCompletedOrders(summary.getCompletedOrders() + 1);
+                    if (order.getTotalAmount() != null) {
+                        summary.setRevenue(summary.getRevenue().add(order.getTotalAmount()));
+                    }
+                }
+            });
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+        return summary;
+    }
+
+    private ArtisanSalesSummaryDTO mapToSummaryResponse(ArtisanSalesSummary summary) {
+        ArtisanSalesSummaryDTO summaryDTO = new ArtisanSalesSummaryDTO();
+        summaryDTO.setArtistId(summary.getId());
+        summaryDTO.setCompletedOrders(summary.getCompletedOrders());
+        summaryDTO.setRevenue(summary.getRevenue());
+        summaryDTO.setStatusCounts(summary.getStatusCounts());
+        summaryDTO.setUpdatedAt(summary.getUpdatedAt());
+        return summaryDTO;
+    }
+
+    private record DeltaKey(String artistId, LocalDateTime changedAt) {
+    }
+
+    private static class SummaryDelta {
+        private final Map<String, Long> statusCounts = new HashMap<>();
+        private long completedOrders;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(Order order, OrderStatus fromStatus, PaymentStatus fromPayment,
+                 OrderStatus toStatus, PaymentStatus toPayment) {
+            if (fromStatus != toStatus) {
+                if (fromStatus != null) {
+                    statusCounts.merge(fromStatus.name(), -1L, Long::sum);
+                }
+                if (toStatus != null) {
+                    statusCounts.merge(toStatus.name(), 1L, Long::sum);
+                }
+            }
+            boolean wasCompleted = fromPayment == PaymentStatus.COMPLETED;
+            boolean isCompleted = toPayment == PaymentStatus.COMPLETED;
+            if (wasCompleted != isCompleted) {
+                BigDecimal amount = order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount();
+                completedOrders += isCompleted ? 1 : -1;
+                revenue = isCompleted ? revenue.add(amount) : revenue.subtract(amount);
+            }
+        }
+
+        Update toUpdate() {
+            Update update = new Update();
+            statusCounts.forEach((status, count) -> {
+                if (count != 0) {
+                    update.inc("statusCounts." + status, count);
+                }
+            });
+            if (completedOrders != 0) {
+                update.inc("completedOrders", completedOrders);
+            }
+            if (revenue.signum() != 0) {
+                update.inc("revenue", new Decimal128(revenue));
+            }
+            if (update.getUpdateObject().isEmpty()) {
+                return null;
+            }
+            return update.inc("version", 1).set("updatedAt", LocalDateTime.now());
+        }
+    }
+}
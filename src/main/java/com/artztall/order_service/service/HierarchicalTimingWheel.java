@@ -0,0 +1,144 @@
+package com.artztall.order_service.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel of keyed deadlines. The lowest wheel has one bucket per tick; each
+ * overflow wheel has buckets as wide as the whole wheel below it and is only created when a deadline
+ * lies beyond that wheel. Scheduling and cancelling are O(1); advancing the clock costs one bucket
+ * per elapsed tick plus moving entries down a level when a higher bucket comes due. Entries fire at
+ * the end of the tick their deadline falls in, so never early and at most one tick late.
+ *
+ * <p>Not thread-safe; callers serialize access.
+ */
+final class HierarchicalTimingWheel<K> {
+    private final int wheelSize;
+    private final Wheel root;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least two buckets");
+        }
+        this.wheelSize = wheelSize;
+        this.root = new Wheel(tickMillis, nowMillis);
+    }
+
+    /** Schedules the key, replacing any deadline it already had. A deadline in the past fires on the next tick. */
+    void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        Entry<K> entry = new Entry<>(key, deadlineMillis);
+        entries.put(key, entry);
+        insert(entry);
+    }
+
+    boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        // Left in its bucket and skipped when the bucket is drained
+        entry.cancelled = true;
+        return true;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Moves the clock to {@code nowMillis} and returns the keys whose deadline has passed, earliest tick first. */
+    List<K> advance(long nowMillis) {
+        List<K> due = new ArrayList<>();
+        while (nowMillis >= root.start + root.tick) {
+            for (Entry<K> entry : root.drain(root.start)) {
+                if (!entry.cancelled) {
+                    entries.remove(entry.key);
+                    due.add(entry.key);
+                }
+            }
+            root.start += root.tick;
+
+            // A boundary of a higher wheel is also a boundary of every wheel below it
+            List<Wheel> crossed = new ArrayList<>();
+            for (Wheel wheel = root.overflow; wheel != null && root.start >= wheel.start + wheel.tick; wheel = wheel.overflow) {
+                wheel.start += wheel.tick;
+                crossed.add(wheel);
+            }
+            // Highest first, so entries can cascade through several levels within one tick
+            for (int i = crossed.size() - 1; i >= 0; i--) {
+                Wheel wheel = crossed.get(i);
+                for (Entry<K> entry : wheel.drain(wheel.start)) {
+                    if (!entry.cancelled) {
+                        insert(entry);
+                    }
+                }
+            }
+        }
+        return due;
+    }
+
+    private void insert(Entry<K> entry) {
+        if (entry.deadline < root.start + root.tick) {
+            root.add(root.start, entry);
+            return;
+        }
+        Wheel wheel = root;
+        while (entry.deadline >= wheel.start + wheel.span) {
+            if (wheel.overflow == null) {
+                wheel.overflow = new Wheel(wheel.span, root.start);
+            }
+            wheel = wheel.overflow;
+        }
+        wheel.add(entry.deadline, entry);
+    }
+
+    private final class Wheel {
+        final long tick;
+        final long span;
+        // Start of the bucket holding the current time, aligned to the tick
+        long start;
+        final List<Entry<K>>[] buckets;
+        Wheel overflow;
+
+        @SuppressWarnings("unchecked")
+        Wheel(long tick, long nowMillis) {
+            this.tick = tick;
+            this.span = tick * wheelSize;
+            this.start = Math.floorDiv(nowMillis, tick) * tick;
+            this.buckets = new List[wheelSize];
+        }
+
+        void add(long time, Entry<K> entry) {
+            int index = index(time);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+        }
+
+        List<Entry<K>> drain(long time) {
+            int index = index(time);
+            List<Entry<K>> bucket = buckets[index];
+            buckets[index] = null;
+            return bucket == null ? List.of() : bucket;
+        }
+
+        private int index(long time) {
+            return (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+        }
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        final long deadline;
+        boolean cancelled;
+
+        Entry(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+}
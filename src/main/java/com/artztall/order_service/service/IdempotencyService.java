@@ -0,0 +1,192 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.config.RequestDeadline;
+import com.artztall.order_service.dto.OrderCreateDTO;
+import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.exception.IdempotencyConflictException;
+import com.artztall.order_service.exception.IdempotencyKeyMismatchException;
+import com.artztall.order_service.model.IdempotencyRecord;
+import com.artztall.order_service.model.IdempotencyStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Makes order creation safe to retry. The first request with a key stores an IN_PROGRESS placeholder,
+ * runs, and replaces it with the created order; later requests with the same key get that order back
+ * without reaching product-service or the orders collection. Completed keys are kept in a local LRU
+ * in front of a TTL-indexed collection so most replays never leave the process.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, IdempotencyRecord> completedKeys;
+    private final Scheduler blockingCallScheduler;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+
+    public IdempotencyService(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            Scheduler blockingCallScheduler,
+            @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+            @Value("${orders.idempotency.in-progress-timeout:30s}") Duration inProgressTimeout,
+            @Value("${orders.idempotency.cache-size:10000}") long cacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.blockingCallScheduler = blockingCallScheduler;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.completedKeys = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, IdempotencyRecord>build(), "idempotency-keys");
+    }
+
+    /**
+     * Runs {@code createOrder} at most once per key. The MongoDB round trips run on the blocking-call
+     * scheduler, so the caller's thread is never held.
+     */
+    public CompletableFuture<Outcome> createOrder(String idempotencyKey, OrderCreateDTO request,
+                                                  Supplier<CompletableFuture<OrderResponseDTO>> createOrder) {
+        // Keys are scoped per user so two clients cannot collide on the same key
+        String id = request.getUserId() + ":" + idempotencyKey;
+        String requestHash = fingerprint(request);
+        // createOrder starts on a scheduler thread but must keep this request's deadline
+        Supplier<CompletableFuture<OrderResponseDTO>> create = RequestDeadline.propagate(createOrder);
+
+        IdempotencyRecord completed = completedKeys.getIfPresent(id);
+        if (completed != null) {
+            return Mono.fromCallable(() -> replay(completed, requestHash)).toFuture();
+        }
+
+        return Mono.fromCallable(() -> Optional.ofNullable(claim(id, requestHash)))
+                .subscribeOn(blockingCallScheduler)
+                .flatMap(existing -> existing.isPresent()
+                        ? Mono.fromCallable(() -> resolveExisting(id, existing.get(), requestHash))
+                        : Mono.fromFuture(create)
+                                .onErrorResume(e -> Mono.fromRunnable(() -> release(id))
+                                        .subscribeOn(blockingCallScheduler)
+                                        .then(Mono.error(e)))
+                                .flatMap(response -> Mono.fromRunnable(() -> complete(id, requestHash, response))
+                                        .subscribeOn(blockingCallScheduler)
+                                        .thenReturn(new Outcome(response, false))))
+                .toFuture();
+    }
+
+    private Outcome resolveExisting(String id, IdempotencyRecord existing, String requestHash) {
+        if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+            completedKeys.put(id, existing);
+            return replay(existing, requestHash);
+        }
+        throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+    }
+
+    // Let the client retry with the same key
+    private void release(String id) {
+        try {
+            mongoTemplate.remove(query(where("_id").is(id).and("status").is(IdempotencyStatus.IN_PROGRESS)),
+                    IdempotencyRecord.class);
+        } catch (Exception e) {
+            log.error("Failed to release idempotency key {}, it frees up after the in-progress timeout", id, e);
+        }
+    }
+
+    /**
+     * Stores the placeholder. Returns null when this request now owns the key, or the record that
+     * holds it otherwise. A placeholder left behind by a crashed request is taken over once it times out.
+     */
+    private IdempotencyRecord claim(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord placeholder = new IdempotencyRecord();
+        placeholder.setId(id);
+        placeholder.setRequestHash(requestHash);
+        placeholder.setStatus(IdempotencyStatus.IN_PROGRESS);
+        placeholder.setLockedUntil(now.plus(inProgressTimeout));
+        placeholder.setExpiresAt(now.plus(ttl));
+        try {
+            mongoTemplate.insert(placeholder);
+            return null;
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (existing == null) {
+                // Removed by a failed request in the meantime; try once more
+                return claimAgain(placeholder);
+            }
+            if (existing.getStatus() == IdempotencyStatus.IN_PROGRESS && existing.getLockedUntil().isBefore(now)) {
+                boolean takenOver = mongoTemplate.updateFirst(
+                        query(where("_id").is(id)
+                                .and("status").is(IdempotencyStatus.IN_PROGRESS)
+                                .and("lockedUntil").is(existing.getLockedUntil())),
+                        new Update().set("requestHash", requestHash).set("lockedUntil", now.plus(inProgressTimeout)),
+                        IdempotencyRecord.class).getModifiedCount() > 0;
+                return takenOver ? null : existing;
+            }
+            return existing;
+        }
+    }
+
+    private IdempotencyRecord claimAgain(IdempotencyRecord placeholder) {
+        try {
+            mongoTemplate.insert(placeholder);
+            return null;
+        } catch (DuplicateKeyException e) {
+            IdempotencyRecord existing = mongoTemplate.findById(placeholder.getId(), IdempotencyRecord.class);
+            return existing != null ? existing : placeholder;
+        }
+    }
+
+    private void complete(String id, String requestHash, OrderResponseDTO response) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId(id);
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setResponse(response);
+        record.setExpiresAt(LocalDateTime.now().plus(ttl));
+        completedKeys.put(id, record);
+        try {
+            mongoTemplate.save(record);
+        } catch (Exception e) {
+            // The order exists; only replays on other instances are affected until the placeholder times out
+            log.error("Failed to store idempotency record {}", id, e);
+        }
+    }
+
+    private Outcome replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key was already used for a different request");
+        }
+        return new Outcome(record.getResponse(), true);
+    }
+
+    static String fingerprint(OrderCreateDTO request) {
+        String item = request.getItem() == null ? "" : request.getItem().getProductId() + "|" + request.getItem().getQuantity();
+        String canonical = String.join("\n", String.valueOf(request.getUserId()), item,
+                String.valueOf(request.getShippingAddress()), String.valueOf(request.getSpecialInstructions()));
+        return DigestUtils.md5DigestAsHex(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Outcome(OrderResponseDTO order, boolean replayed) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.SchedulerLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Time-bounded leases stored in MongoDB so that only one instance runs a given scheduled job at a
+ * time. A lease is taken by upserting its document when it is free, expired or already ours; an
+ * instance that dies simply lets its lease run out.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaseService {
+    private final MongoTemplate mongoTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public boolean tryAcquire(String leaseName, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria available = new Criteria().orOperator(
+                where("lockedUntil").lt(now),
+                where("owner").is(instanceId));
+        try {
+            mongoTemplate.findAndModify(
+                    query(where("_id").is(leaseName).andOperator(available)),
+                    new Update().set("owner", instanceId).set("lockedUntil", now.plus(ttl)),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    SchedulerLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The lease document exists and is held by another instance
+            return false;
+        }
+    }
+
+    public void release(String leaseName) {
+        try {
+            mongoTemplate.updateFirst(
+                    query(where("_id").is(leaseName).and("owner").is(instanceId)),
+                    new Update().set("lockedUntil", LocalDateTime.now()),
+                    SchedulerLease.class);
+        } catch (Exception e) {
+            log.warn("Failed to release lease {}, it will expire on its own", leaseName, e);
+        }
+    }
+}
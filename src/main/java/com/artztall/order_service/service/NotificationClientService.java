@@ -1,22 +1,82 @@
 package com.artztall.order_service.service;
 
 import com.artztall.order_service.dto.NotificationSendDTO;
-import lombok.RequiredArgsConstructor;
+import com.artztall.order_service.model.NotificationOutboxEntry;
+import com.artztall.order_service.model.NotificationOutboxStatus;
+import com.artztall.order_service.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class NotificationClientService {
     private final WebClient notificationServiceWebClient;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final MeterRegistry meterRegistry;
+
+    public NotificationClientService(
+            WebClient notificationServiceWebClient,
+            NotificationOutboxRepository notificationOutboxRepository,
+            MeterRegistry meterRegistry) {
+        this.notificationServiceWebClient = notificationServiceWebClient;
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.meterRegistry = meterRegistry;
+    }
 
+    /**
+     * Records the notification in the outbox. Delivery to notification-service happens in the
+     * background through {@link NotificationOutboxDispatcher}, so callers never wait on it.
+     */
     public void sendNotification(NotificationSendDTO notificationSendDTO) {
-        notificationServiceWebClient.post()
-                .uri("/api/notifications/send")
-                .bodyValue(notificationSendDTO)
-                .retrieve()
-                .bodyToMono(NotificationSendDTO.class)
-                // Consider adding error handling
-                .onErrorMap(ex -> new RuntimeException("Failed to send notification", ex));
+        notificationOutboxRepository.insert(newOutboxEntry(notificationSendDTO));
+    }
+
+    public void sendNotifications(List<NotificationSendDTO> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        notificationOutboxRepository.insert(notifications.stream().map(this::newOutboxEntry).toList());
+    }
+
+    public Mono<Void> deliver(NotificationSendDTO notificationSendDTO) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return notificationServiceWebClient.post()
+                    .uri("/api/notifications/send")
+                    .bodyValue(notificationSendDTO)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .doOnSuccess(response -> record(sample, "success"))
+                    .doOnError(ex -> record(sample, ex instanceof WebClientResponseException response
+                            && response.getStatusCode().is4xxClientError() ? "client_error" : "error"))
+                    .doOnCancel(() -> record(sample, "cancelled"))
+                    .onErrorMap(ex -> new RuntimeException("Failed to send notification", ex))
+                    .then();
+        });
+    }
+
+    private void record(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder(ProductClientService.CLIENT_REQUESTS_METRIC)
+                .description("Calls to downstream services by operation and outcome")
+                .tags("client", "notification-service", "operation", "deliver", "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private NotificationOutboxEntry newOutboxEntry(NotificationSendDTO notificationSendDTO) {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutboxEntry entry = new NotificationOutboxEntry();
+        entry.setPayload(notificationSendDTO);
+        entry.setStatus(NotificationOutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setCreatedAt(now);
+        entry.setNextAttemptAt(now);
+        return entry;
     }
-}
\ No newline at end of file
+}
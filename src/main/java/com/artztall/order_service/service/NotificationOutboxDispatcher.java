@@ -0,0 +1,202 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.NotificationOutboxEntry;
+import com.artztall.order_service.model.NotificationOutboxStatus;
+import com.artztall.order_service.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Drains the notification outbox. Each poll claims a batch of due entries (bounded by the free space
+ * in the local work queue), hands them to a fixed pool of delivery workers and acknowledges
+ * delivered entries with a single bulk delete on the next poll. Failed deliveries are rescheduled
+ * with exponential backoff until {@code max-attempts} is reached, after which they are parked as FAILED.
+ */
+@Slf4j
+@Service
+public class NotificationOutboxDispatcher {
+    private final MongoTemplate mongoTemplate;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationClientService notificationClientService;
+    private final ThreadPoolExecutor workers;
+    private final Queue<String> deliveredIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer dispatchLag;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Duration deliveryTimeout;
+
+    public NotificationOutboxDispatcher(
+            MongoTemplate mongoTemplate,
+            NotificationOutboxRepository notificationOutboxRepository,
+            NotificationClientService notificationClientService,
+            MeterRegistry meterRegistry,
+            ThreadFactory blockingTaskThreadFactory,
+            @Value("${orders.notifications.outbox.batch-size:100}") int batchSize,
+            @Value("${orders.notifications.outbox.concurrency:4}") int concurrency,
+            @Value("${orders.notifications.outbox.queue-capacity:500}") int queueCapacity,
+            @Value("${orders.notifications.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${orders.notifications.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${orders.notifications.outbox.max-backoff:5m}") Duration maxBackoff,
+            @Value("${orders.notifications.outbox.claim-timeout:2m}") Duration claimTimeout,
+            @Value("${orders.notifications.outbox.delivery-timeout:5s}") Duration deliveryTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationClientService = notificationClientService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.deliveryTimeout = deliveryTimeout;
+        this.workers = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), blockingTaskThreadFactory);
+
+        Gauge.builder("notifications.outbox.queue.depth", workers, w -> w.getQueue().size() + w.getActiveCount())
+                .description("Outbox entries claimed by this instance and not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("notifications.outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox entries waiting for delivery across all instances")
+                .register(meterRegistry);
+        this.dispatchLag = Timer.builder("notifications.outbox.dispatch.lag")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+        this.delivered = meterRegistry.counter("notifications.outbox.deliveries", "result", "delivered");
+        this.retried = meterRegistry.counter("notifications.outbox.deliveries", "result", "retried");
+        this.failed = meterRegistry.counter("notifications.outbox.deliveries", "result", "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${orders.notifications.outbox.poll-interval:1000}")
+    public void dispatchPending() {
+        acknowledgeDelivered();
+
+        int capacity = Math.min(batchSize, workers.getQueue().remainingCapacity());
+        if (capacity > 0) {
+            for (NotificationOutboxEntry entry : claimBatch(capacity)) {
+                workers.execute(() -> deliver(entry));
+            }
+        }
+        backlog.set(notificationOutboxRepository.countByStatus(NotificationOutboxStatus.PENDING));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(deliveryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        acknowledgeDelivered();
+    }
+
+    List<NotificationOutboxEntry> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Query candidates = query(where("status").is(NotificationOutboxStatus.PENDING)
+                .and("nextAttemptAt").lte(now)
+                .andOperator(unclaimed(now)))
+                .with(Sort.by("nextAttemptAt"))
+                .limit(limit);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, NotificationOutboxEntry.class).stream()
+                .map(NotificationOutboxEntry::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Entries already claimed by another instance between the two queries are skipped by the guard
+        String claimToken = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                query(where("_id").in(ids).andOperator(unclaimed(now))),
+                new Update().set("claimedBy", claimToken).set("claimedUntil", now.plus(claimTimeout)),
+                NotificationOutboxEntry.class);
+        return notificationOutboxRepository.findByClaimedBy(claimToken);
+    }
+
+    void deliver(NotificationOutboxEntry entry) {
+        try {
+            notificationClientService.deliver(entry.getPayload()).block(deliveryTimeout);
+            deliveredIds.add(entry.getId());
+            delivered.increment();
+            dispatchLag.record(Duration.between(entry.getCreatedAt(), LocalDateTime.now()));
+        } catch (Exception e) {
+            scheduleRetry(entry, e);
+        }
+    }
+
+    void acknowledgeDelivered() {
+        List<String> ids = new ArrayList<>();
+        String id;
+        while ((id = deliveredIds.poll()) != null) {
+            ids.add(id);
+        }
+        if (!ids.isEmpty()) {
+            mongoTemplate.remove(query(where("_id").in(ids)), NotificationOutboxEntry.class);
+        }
+    }
+
+    private void scheduleRetry(NotificationOutboxEntry entry, Exception cause) {
+        int attempts = entry.getAttempts() + 1;
+        Update update = new Update()
+                .set("attempts", attempts)
+                .set("lastError", cause.getMessage())
+                .unset("claimedBy")
+                .unset("claimedUntil");
+        if (attempts >= maxAttempts) {
+            update.set("status", NotificationOutboxStatus.FAILED);
+            failed.increment();
+            log.error("Giving up on notification {} after {} attempts", entry.getId(), attempts, cause);
+        } else {
+            update.set("nextAttemptAt", LocalDateTime.now().plus(backoff(attempts)));
+            retried.increment();
+            log.warn("Notification {} delivery failed (attempt {}), retrying", entry.getId(), attempts);
+        }
+        try {
+            mongoTemplate.updateFirst(query(where("_id").is(entry.getId())), update, NotificationOutboxEntry.class);
+        } catch (Exception e) {
+            // The claim expires on its own and the entry is picked up again
+            log.error("Failed to reschedule notification {}", entry.getId(), e);
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Criteria unclaimed(LocalDateTime now) {
+        return new Criteria().orOperator(where("claimedUntil").is(null), where("claimedUntil").lt(now));
+    }
+}
@@ -0,0 +1,78 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Publishes how many orders are waiting for payment and how far the abandoned-order sweeper is behind.
+ * The values are refreshed on a schedule rather than on scrape, so a Prometheus scrape never waits on
+ * MongoDB, and every instance reports them whether or not it holds the sweeper lease.
+ */
+@Slf4j
+@Service
+public class OrderBacklogMetrics {
+    private final MongoTemplate mongoTemplate;
+    private final OrderSchemaMigration orderSchemaMigration;
+    private final Duration paymentWindow;
+    private final AtomicLong pendingOrders = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final AtomicLong sweeperLagSeconds = new AtomicLong();
+
+    public OrderBacklogMetrics(
+            MongoTemplate mongoTemplate,
+            OrderSchemaMigration orderSchemaMigration,
+            MeterRegistry meterRegistry,
+            @Value("${orders.sweeper.payment-window:15m}") Duration paymentWindow) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderSchemaMigration = orderSchemaMigration;
+        this.paymentWindow = paymentWindow;
+
+        Gauge.builder("orders.pending", pendingOrders, AtomicLong::get)
+                .description("Orders waiting for payment")
+                .register(meterRegistry);
+        Gauge.builder("orders.pending.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest order waiting for payment")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("orders.sweeper.lag", sweeperLagSeconds, AtomicLong::get)
+                .description("How long the oldest pending order has been past its payment window")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedRateString = "${orders.metrics.backlog-interval:30000}")
+    public void refresh() {
+        try {
+            // Pending orders still in the old layout would be missing from the counts below
+            orderSchemaMigration.migrateMatching(Filters.eq("status", OrderStatus.PENDING.name()));
+            pendingOrders.set(mongoTemplate.count(query(where("status").is(OrderStatus.PENDING)), Order.class));
+
+            Query oldest = query(where("status").is(OrderStatus.PENDING)).with(Sort.by("createdAt")).limit(1);
+            oldest.fields().include("createdAt");
+            Order oldestPending = mongoTemplate.findOne(oldest, Order.class);
+            long age = oldestPending == null || oldestPending.getCreatedAt() == null ? 0
+                    : Duration.between(oldestPending.getCreatedAt(), LocalDateTime.now()).toSeconds();
+            oldestPendingAgeSeconds.set(Math.max(0, age));
+            sweeperLagSeconds.set(Math.max(0, age - paymentWindow.toSeconds()));
+        } catch (Exception e) {
+            log.warn("Could not refresh order backlog metrics", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.OrderCacheEvent;
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCursor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Tails the {@code order_cache_events} capped collection and evicts what other instances changed.
+ * Runs on its own daemon thread from application ready; while MongoDB is unreachable it only logs
+ * and retries, and the local cache is cleared once the feed is back.
+ */
+@Slf4j
+@Component
+public class OrderCacheInvalidationListener {
+    private static final long CAPPED_SIZE_BYTES = 4L * 1024 * 1024;
+    private static final long CAPPED_MAX_EVENTS = 20_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderReadCache orderReadCache;
+    private final boolean enabled;
+    private final Duration retryDelay;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderCacheInvalidationListener(
+            MongoTemplate mongoTemplate,
+            OrderReadCache orderReadCache,
+            @Value("${orders.order-cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${orders.order-cache.invalidation.retry-delay:5s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderReadCache = orderReadCache;
+        this.enabled = enabled;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("order-cache-invalidation").start(this::run);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        boolean interrupted = false;
+        while (running) {
+            try {
+                ensureCollection();
+                if (interrupted) {
+                    // Events written while the feed was down may already have been pushed out of the
+                    // capped collection, so nothing cached before the interruption can be trusted
+                    orderReadCache.clear();
+                    interrupted = false;
+                }
+                tail();
+                // A tailable cursor dies at once on an empty collection; reopen after a pause
+                pause();
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                interrupted = true;
+                log.warn("Order cache invalidation feed interrupted, retrying in {}", retryDelay, e);
+                pause();
+            }
+        }
+    }
+
+    // Reads from the start of the collection in insertion order. Resuming after the last seen _id would
+    // skip events: ObjectIds come from each writer's clock and are not ordered across instances.
+    // Replaying old events only evicts entries that are reloaded on the next read
+    private void tail() {
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(OrderCacheEvent.class))
+                .find()
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(1, TimeUnit.SECONDS)
+                .iterator()) {
+            while (running) {
+                Document document = cursor.tryNext();
+                if (document == null) {
+                    if (cursor.getServerCursor() == null) {
+                        return;
+                    }
+                    continue;
+                }
+                apply(mongoTemplate.getConverter().read(OrderCacheEvent.class, document));
+            }
+        }
+    }
+
+    void apply(OrderCacheEvent event) {
+        if (!orderReadCache.isLocal(event)) {
+            orderReadCache.evict(event.getOrderId(), event.getUserId());
+        }
+    }
+
+    // Tailable cursors need a capped collection; an insert that raced us may have created a plain one
+    private void ensureCollection() {
+        String name = mongoTemplate.getCollectionName(OrderCacheEvent.class);
+        Document existing = mongoTemplate.getDb().listCollections().filter(eq("name", name)).first();
+        if (existing == null) {
+            try {
+                mongoTemplate.createCollection(OrderCacheEvent.class,
+                        CollectionOptions.empty().capped().size(CAPPED_SIZE_BYTES).maxDocuments(CAPPED_MAX_EVENTS));
+            } catch (Exception e) {
+                // Another instance created it first
+                log.debug("Order cache event collection not created", e);
+            }
+        } else if (!existing.get("options", new Document()).getBoolean("capped", false)) {
+            log.info("Converting {} to a capped collection", name);
+            mongoTemplate.executeCommand(new Document("convertToCapped", name).append("size", CAPPED_SIZE_BYTES));
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
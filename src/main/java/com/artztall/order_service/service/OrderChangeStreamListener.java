@@ -0,0 +1,153 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderStatusEventDTO;
+import com.artztall.order_service.model.Order;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the orders collection through a change stream and publishes every new order and every
+ * status change to the {@link OrderEventHub}. Each instance runs its own stream, so a change made
+ * anywhere, by a request, the expiry scheduler or the sweeper, reaches the subscribers on every
+ * instance. Change streams need a replica set; on a standalone server this only logs and retries.
+ * After an interruption the stream resumes from the last event it saw.
+ */
+@Slf4j
+@Component
+public class OrderChangeStreamListener {
+    private final MongoTemplate mongoTemplate;
+    private final OrderEventHub orderEventHub;
+    private final boolean enabled;
+    private final Duration retryDelay;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderChangeStreamListener(
+            MongoTemplate mongoTemplate,
+            OrderEventHub orderEventHub,
+            @Value("${orders.events.change-stream.enabled:true}") boolean enabled,
+            @Value("${orders.events.change-stream.retry-delay:5s}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderEventHub = orderEventHub;
+        this.enabled = enabled;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("order-change-stream").start(this::run);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        BsonDocument resumeToken = null;
+        while (running) {
+            try {
+                resumeToken = watch(resumeToken);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Order change stream interrupted, retrying in {}", retryDelay, e);
+                pause();
+            }
+        }
+    }
+
+    private BsonDocument watch(BsonDocument resumeAfter) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                .watch(pipeline())
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeAfter != null) {
+            stream = stream.resumeAfter(resumeAfter);
+        }
+        BsonDocument lastSeen = resumeAfter;
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) {
+                    // Also advances past events the pipeline filtered out
+                    lastSeen = cursor.getResumeToken() != null ? cursor.getResumeToken() : lastSeen;
+                    continue;
+                }
+                lastSeen = change.getResumeToken();
+                if (change.getFullDocument() != null) {
+                    orderEventHub.publish(toEvent(mongoTemplate.getConverter().read(Order.class, change.getFullDocument())));
+                }
+            }
+        }
+        return lastSeen;
+    }
+
+    // Inserts and updates that set the status; the looked-up document is cut down to the event fields.
+    // Replacements are left out: the service only replaces orders when the schema migration rewrites
+    // them, which changes the layout but never the status
+    List<Bson> pipeline() {
+        MongoPersistentEntity<?> order = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Order.class);
+        String status = fieldName(order, "status");
+        return List.of(
+                Aggregates.match(Filters.or(
+                        Filters.eq("operationType", "insert"),
+                        Filters.and(Filters.eq("operationType", "update"),
+                                Filters.exists("updateDescription.updatedFields." + status)))),
+                Aggregates.project(Projections.include(
+                        "operationType",
+                        "documentKey",
+                        "fullDocument._id",
+                        "fullDocument." + fieldName(order, "userId"),
+                        "fullDocument." + status,
+                        "fullDocument." + fieldName(order, "paymentStatus"),
+                        "fullDocument." + fieldName(order, "version"),
+                        "fullDocument." + fieldName(order, "updatedAt"))));
+    }
+
+    static OrderStatusEventDTO toEvent(Order order) {
+        return new OrderStatusEventDTO(order.getId(), order.getUserId(), order.getStatus(), order.getPaymentStatus(),
+                order.getVersion(), order.getUpdatedAt());
+    }
+
+    private static String fieldName(MongoPersistentEntity<?> entity, String property) {
+        return entity.getRequiredPersistentProperty(property).getFieldName();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderStatusEventDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans order status events out to the Server-Sent Event streams open on this instance, keyed by order
+ * and by user. An idle subscriber is only its emitter and an entry in one of the maps; Tomcat parks
+ * the async request without a thread. Events are written on the blocking-call scheduler so a slow
+ * client never holds up the change stream, and a stream whose write fails is dropped.
+ */
+@Slf4j
+@Service
+public class OrderEventHub {
+    static final String STATUS_EVENT = "order-status";
+
+    private final Map<String, Set<Subscription>> orderSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> userSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Scheduler blockingCallScheduler;
+    private final Duration streamTimeout;
+
+    public OrderEventHub(
+            Scheduler blockingCallScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${orders.events.stream-timeout:30m}") Duration streamTimeout) {
+        this.blockingCallScheduler = blockingCallScheduler;
+        this.streamTimeout = streamTimeout;
+        Gauge.builder("orders.events.subscribers", subscribers, AtomicInteger::get)
+                .description("Open order event streams on this instance")
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream of one order's status changes, starting with its current state. */
+    public SseEmitter subscribeToOrder(OrderStatusEventDTO current) {
+        Subscription subscription = register(orderSubscribers, current.getOrderId());
+        subscription.send(statusEvent(current));
+        return subscription.emitter;
+    }
+
+    /** Opens a stream of status changes of all of a user's orders, including newly placed ones. */
+    public SseEmitter subscribeToUser(String userId) {
+        return register(userSubscribers, userId).emitter;
+    }
+
+    public void publish(OrderStatusEventDTO event) {
+        Set<Subscription> byOrder = orderSubscribers.get(event.getOrderId());
+        Set<Subscription> byUser = event.getUserId() != null ? userSubscribers.get(event.getUserId()) : null;
+        if (byOrder == null && byUser == null) {
+            return;
+        }
+        blockingCallScheduler.schedule(() -> {
+            if (byOrder != null) {
+                byOrder.forEach(subscription -> subscription.send(statusEvent(event)));
+            }
+            if (byUser != null) {
+                byUser.forEach(subscription -> subscription.send(statusEvent(event)));
+            }
+        });
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away without closing. The
+    // writes go to the blocking-call scheduler so a slow client never stalls the shared @Scheduled pool
+    @Scheduled(fixedRateString = "${orders.events.heartbeat-interval:25000}")
+    public void heartbeat() {
+        if (subscribers.get() == 0) {
+            return;
+        }
+        blockingCallScheduler.schedule(() -> {
+            orderSubscribers.values().forEach(subscriptions -> subscriptions.forEach(s -> s.send(SseEmitter.event().comment("ping"))));
+            userSubscribers.values().forEach(subscriptions -> subscriptions.forEach(s -> s.send(SseEmitter.event().comment("ping"))));
+        });
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(streamTimeout.toMillis());
+    }
+
+    private Subscription register(Map<String, Set<Subscription>> subscriptions, String key) {
+        Subscription subscription = new Subscription(subscriptions, key, newEmitter());
+        // Added inside compute so a concurrent close() cannot remove the set between lookup and add
+        subscriptions.compute(key, (ignored, existing) -> {
+            Set<Subscription> current = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            current.add(subscription);
+            return current;
+        });
+        subscribers.incrementAndGet();
+        subscription.emitter.onCompletion(subscription::close);
+        subscription.emitter.onTimeout(subscription::close);
+        subscription.emitter.onError(error -> subscription.close());
+        return subscription;
+    }
+
+    private static SseEmitter.SseEventBuilder statusEvent(OrderStatusEventDTO event) {
+        return SseEmitter.event()
+                .name(STATUS_EVENT)
+                .id(event.getOrderId() + ":" + event.getVersion())
+                .data(event);
+    }
+
+    private final class Subscription {
+        final Map<String, Set<Subscription>> subscriptions;
+        final String key;
+        final SseEmitter emitter;
+        final AtomicBoolean open = new AtomicBoolean(true);
+
+        Subscription(Map<String, Set<Subscription>> subscriptions, String key, SseEmitter emitter) {
+            this.subscriptions = subscriptions;
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping order event stream for {}", key, e);
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        void close() {
+            if (open.compareAndSet(true, false)) {
+                subscribers.decrementAndGet();
+                subscriptions.computeIfPresent(key, (ignored, remaining) -> {
+                    remaining.remove(this);
+                    return remaining.isEmpty() ? null : remaining;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Expires each PENDING order when its payment window closes instead of waiting for the next sweep.
+ * Deadlines are kept in a hierarchical timing wheel, filled from MongoDB at startup and as orders are
+ * created here, and cleared when an order leaves PENDING; a single thread advances the wheel
+ * every tick and expires whatever came due. Expiry goes through the sweeper's guarded update, so an
+ * order confirmed in the meantime, or already expired by another instance, is left alone. Orders
+ * whose instance went away before their deadline are picked up by the sweeper's backstop scan.
+ */
+@Slf4j
+@Service
+public class OrderExpiryScheduler {
+    private final MongoTemplate mongoTemplate;
+    private final AbandonedOrderSweeper sweeper;
+    private final OrderSchemaMigration orderSchemaMigration;
+    private final Clock clock;
+    private final Duration paymentWindow;
+    private final Duration tick;
+    private final HierarchicalTimingWheel<String> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public OrderExpiryScheduler(
+            MongoTemplate mongoTemplate,
+            AbandonedOrderSweeper sweeper,
+            OrderSchemaMigration orderSchemaMigration,
+            MeterRegistry meterRegistry,
+            @Value("${orders.sweeper.payment-window:15m}") Duration paymentWindow,
+            @Value("${orders.expiry.tick:1s}") Duration tick,
+            @Value("${orders.expiry.wheel-size:64}") int wheelSize) {
+        this(mongoTemplate, sweeper, orderSchemaMigration, meterRegistry, paymentWindow, tick, wheelSize,
+                Clock.systemDefaultZone());
+    }
+
+    OrderExpiryScheduler(MongoTemplate mongoTemplate, AbandonedOrderSweeper sweeper,
+                         OrderSchemaMigration orderSchemaMigration, MeterRegistry meterRegistry,
+                         Duration paymentWindow, Duration tick, int wheelSize, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.sweeper = sweeper;
+        this.orderSchemaMigration = orderSchemaMigration;
+        this.clock = clock;
+        this.paymentWindow = paymentWindow;
+        this.tick = tick;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), wheelSize, clock.millis());
+        Gauge.builder("orders.expiry.scheduled", this, OrderExpiryScheduler::scheduled)
+                .description("PENDING orders whose expiry is scheduled on this instance")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ticker.execute(this::loadPendingOrders);
+        ticker.scheduleAtFixedRate(this::expireDueOrders, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void schedule(Order order) {
+        if (order.getStatus() != OrderStatus.PENDING || order.getCreatedAt() == null) {
+            return;
+        }
+        long deadline = order.getCreatedAt().atZone(clock.getZone()).toInstant().plus(paymentWindow).toEpochMilli();
+        synchronized (wheel) {
+            wheel.schedule(order.getId(), deadline);
+        }
+    }
+
+    public void schedule(Collection<Order> orders) {
+        orders.forEach(this::schedule);
+    }
+
+    public void cancel(String orderId) {
+        synchronized (wheel) {
+            wheel.cancel(orderId);
+        }
+    }
+
+    int scheduled() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    void expireDueOrders() {
+        List<String> due;
+        synchronized (wheel) {
+            due = wheel.advance(clock.millis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            int expired = sweeper.expireOrders(due);
+            log.debug("{} orders came due, {} expired", due.size(), expired);
+        } catch (Exception e) {
+            // The sweeper's backstop scan expires them later
+            log.warn("Failed to expire {} due orders", due.size(), e);
+        }
+    }
+
+    // Every instance loads all PENDING orders; expiring one twice is a no-op thanks to the guarded update
+    void loadPendingOrders() {
+        Query pending = query(where("status").is(OrderStatus.PENDING));
+        pending.fields().include("_id", "status", "createdAt");
+        try {
+            orderSchemaMigration.migrateMatching(Filters.eq("status", OrderStatus.PENDING.name()));
+        } catch (Exception e) {
+            log.warn("Could not migrate legacy pending orders, their expiry is left to the sweeper", e);
+        }
+        try (Stream<Order> orders = mongoTemplate.stream(pending, Order.class)) {
+            orders.forEach(this::schedule);
+            log.info("Scheduled expiry of {} pending orders", scheduled());
+        } catch (Exception e) {
+            log.warn("Could not load pending orders, the sweeper's backstop scan will expire them", e);
+        }
+    }
+}
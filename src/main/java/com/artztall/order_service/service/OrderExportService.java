@@ -0,0 +1,153 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderExportFormat;
+import com.artztall.order_service.dto.OrderExportRowDTO;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderItem;
+import com.artztall.order_service.model.OrderStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Writes orders straight from a MongoDB cursor to an output stream, one row at a time, so an export
+ * of any size needs only one cursor batch and one write buffer of heap. Writes block when the client
+ * reads slowly, and the cursor is not advanced until they complete.
+ */
+@Slf4j
+@Service
+// Rows are serialized through an ObjectWriter rather than returned from a handler, so native images need the hint
+@RegisterReflectionForBinding(OrderExportRowDTO.class)
+public class OrderExportService {
+    private static final String CSV_HEADER = "id,userId,productId,productName,artistId,quantity,price,subtotal,"
+            + "totalAmount,status,paymentStatus,createdAt,updatedAt";
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderSchemaMigration orderSchemaMigration;
+    private final int cursorBatchSize;
+
+    public OrderExportService(
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            OrderSchemaMigration orderSchemaMigration,
+            @Value("${orders.export.cursor-batch-size:500}") int cursorBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.orderSchemaMigration = orderSchemaMigration;
+        this.cursorBatchSize = cursorBatchSize;
+    }
+
+    /**
+     * Fails with 503 while orders are still being migrated, since the export query would leave the
+     * unmigrated ones out. Called before the response headers are written, so the error is sent plainly.
+     */
+    public void checkAvailable() {
+        orderSchemaMigration.requireCompleted();
+    }
+
+    /** Exports orders created in [from, to), optionally of one status and one artist, oldest first. */
+    @Timed(value = "orders.export", description = "Time spent streaming an order export")
+    public long export(LocalDateTime from, LocalDateTime to, OrderStatus status, String artistId,
+                       OrderExportFormat format, OutputStream out) throws IOException {
+        Query query = exportQuery(from, to, status, artistId);
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_BYTES);
+        try (Stream<Order> orders = mongoTemplate.stream(query, Order.class)) {
+            Iterator<OrderExportRowDTO> exportRows = orders.map(OrderExportService::toRow).iterator();
+            rows = format == OrderExportFormat.CSV ? writeCsv(exportRows, writer) : writeNdjson(exportRows, writer);
+        }
+        writer.flush();
+        log.info("Exported {} orders created between {} and {}", rows, from, to);
+        return rows;
+    }
+
+    Query exportQuery(LocalDateTime from, LocalDateTime to, OrderStatus status, String artistId) {
+        Criteria criteria = where("createdAt").gte(from).lt(to);
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (artistId != null) {
+            criteria.and("item.artistId").is(artistId);
+        }
+        Query query = new Query(criteria).with(Sort.by("createdAt", "_id"));
+        query.cursorBatchSize(cursorBatchSize);
+        return query;
+    }
+
+    private long writeNdjson(Iterator<OrderExportRowDTO> rows, Writer writer) throws IOException {
+        long count = 0;
+        // The writer is owned by the caller; closing the sequence must not close the response
+        try (SequenceWriter sequence = objectMapper.writerFor(OrderExportRowDTO.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(writer)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<OrderExportRowDTO> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            OrderExportRowDTO row = rows.next();
+            writer.write(String.join(",",
+                    csv(row.getId()), csv(row.getUserId()), csv(row.getProductId()), csv(row.getProductName()),
+                    csv(row.getArtistId()), csv(row.getQuantity()), csv(row.getPrice()), csv(row.getSubtotal()),
+                    csv(row.getTotalAmount()), csv(row.getStatus()), csv(row.getPaymentStatus()),
+                    csv(row.getCreatedAt()), csv(row.getUpdatedAt())));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    // RFC 4180: quote values containing separators, quotes or line breaks and double embedded quotes
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    static OrderExportRowDTO toRow(Order order) {
+        OrderItem item = order.getItem() != null ? order.getItem() : new OrderItem();
+        return new OrderExportRowDTO(order.getId(), order.getUserId(), item.getProductId(), item.getProductName(),
+                item.getArtistId(), item.getQuantity(), item.getPrice(), item.getSubtotal(), order.getTotalAmount(),
+                order.getStatus(), order.getPaymentStatus(), order.getCreatedAt(), order.getUpdatedAt());
+    }
+}
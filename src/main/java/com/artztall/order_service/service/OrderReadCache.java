@@ -0,0 +1,106 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderCacheEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process cache of order responses, by order id and by user for the unpaginated list. Entries are
+ * loaded atomically per key, so an invalidation that lands while a load is in flight discards the
+ * loaded value instead of letting a stale read win. Every change is also published to the
+ * {@code order_cache_events} capped collection, which other instances tail through
+ * {@link OrderCacheInvalidationListener}; the TTL bounds staleness if an event is ever missed.
+ */
+@Slf4j
+@Service
+public class OrderReadCache {
+    private final MongoTemplate mongoTemplate;
+    private final Scheduler blockingCallScheduler;
+    private final Cache<String, OrderResponseDTO> orders;
+    private final Cache<String, List<OrderResponseDTO>> userOrders;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OrderReadCache(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            Scheduler blockingCallScheduler,
+            @Value("${orders.order-cache.ttl:30s}") Duration ttl,
+            @Value("${orders.order-cache.max-orders:10000}") long maxOrders,
+            @Value("${orders.order-cache.max-users:2000}") long maxUsers) {
+        this.mongoTemplate = mongoTemplate;
+        this.blockingCallScheduler = blockingCallScheduler;
+        this.orders = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxOrders)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, OrderResponseDTO>build(), "orders");
+        this.userOrders = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, List<OrderResponseDTO>>build(), "user-orders");
+    }
+
+    public OrderResponseDTO getOrder(String orderId, Function<String, OrderResponseDTO> loader) {
+        return orders.get(orderId, loader);
+    }
+
+    public List<OrderResponseDTO> getUserOrders(String userId, Function<String, List<OrderResponseDTO>> loader) {
+        return userOrders.get(userId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    /** Drops the cached copies for these orders here and on every other instance. */
+    public void invalidate(Collection<Order> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        changed.forEach(order -> evict(order.getId(), order.getUserId()));
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderCacheEvent> events = changed.stream()
+                .map(order -> new OrderCacheEvent(null, order.getId(), order.getUserId(), instanceId, now))
+                .toList();
+        // Other instances only need the event eventually; the writer does not wait for it
+        Mono.fromRunnable(() -> mongoTemplate.insert(events, OrderCacheEvent.class))
+                .subscribeOn(blockingCallScheduler)
+                .subscribe(null, e -> log.warn("Failed to publish {} order cache invalidations", events.size(), e));
+    }
+
+    public void invalidate(Order changed) {
+        invalidate(List.of(changed));
+    }
+
+    void evict(String orderId, String userId) {
+        if (orderId != null) {
+            orders.invalidate(orderId);
+        }
+        if (userId != null) {
+            userOrders.invalidate(userId);
+        }
+    }
+
+    void clear() {
+        orders.invalidateAll();
+        userOrders.invalidateAll();
+    }
+
+    boolean isLocal(OrderCacheEvent event) {
+        return instanceId.equals(event.getOrigin());
+    }
+}
@@ -0,0 +1,258 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.exception.SchemaMigrationInProgressException;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.repository.LegacyOrderDocuments;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.set;
+
+/**
+ * Rewrites existing orders into the compact document layout while the service keeps running. Orders
+ * are visited in {@code _id} order in small batches and the last id of each batch is checkpointed, so
+ * a restarted instance resumes where the previous one stopped. Each replacement is guarded on the old
+ * layout, so an order the application rewrote in the meantime is left alone. Until the migration
+ * finishes, reads of unmigrated orders are upgraded in memory by the LegacyOrderReadListener, while
+ * queries on order fields only match orders that are already migrated. Code that acts on or stores
+ * what such a query finds calls {@link #migrateMatching} first, so the orders it is looking for are
+ * rewritten ahead of the background pass, and guarded updates call {@link #migrateOrders} for the
+ * orders they change. Listings and exports cannot name their orders up front, so they call
+ * {@link #requireCompleted()} and answer 503 until the migration has finished. Every instance retries
+ * the migration on a schedule, so it carries on when the instance holding the lease goes away.
+ */
+@Slf4j
+@Component
+public class OrderSchemaMigration {
+    static final String MIGRATION_ID = "orders-compact-v1";
+    static final String MIGRATIONS_COLLECTION = "schema_migrations";
+    static final String LEASE_NAME = "order-schema-migration";
+    // Index on the long field names, replaced by artist_payment_created_v2
+    static final String LEGACY_INDEX = "artist_payment_created";
+
+    private final MongoTemplate mongoTemplate;
+    private final LeaseService leaseService;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration leaseTtl;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean completed;
+
+    public OrderSchemaMigration(
+            MongoTemplate mongoTemplate,
+            LeaseService leaseService,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${orders.schema-migration.enabled:true}") boolean enabled,
+            @Value("${orders.schema-migration.batch-size:500}") int batchSize,
+            @Value("${orders.schema-migration.batch-pause:100ms}") Duration batchPause,
+            @Value("${orders.schema-migration.lease-ttl:5m}") Duration leaseTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseService = leaseService;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.leaseTtl = leaseTtl;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        resume();
+    }
+
+    // Picks the migration up again if it stopped here or on the instance that held the lease
+    @Scheduled(fixedDelayString = "${orders.schema-migration.resume-interval:60000}",
+            initialDelayString = "${orders.schema-migration.resume-interval:60000}")
+    public void resume() {
+        if (!enabled || completed || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    migrate();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            log.warn("Could not start the order schema migration", e);
+        }
+    }
+
+    void migrate() {
+        try {
+            MongoCollection<Document> migrations = mongoTemplate.getCollection(MIGRATIONS_COLLECTION);
+            Document state = migrations.find(eq("_id", MIGRATION_ID)).first();
+            if (state != null && state.get("completedAt") != null) {
+                completed = true;
+                return;
+            }
+            if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                log.info("Order schema migration is running on another instance");
+                return;
+            }
+            try {
+                run(migrations, state);
+            } finally {
+                leaseService.release(LEASE_NAME);
+            }
+        } catch (DataAccessResourceFailureException e) {
+            log.warn("MongoDB unreachable, order schema migration will resume on the next start", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Order schema migration stopped, it will resume on the next start", e);
+        }
+    }
+
+    private void run(MongoCollection<Document> migrations, Document state) throws InterruptedException {
+        MongoCollection<Document> orders = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class));
+        // Order ids are ObjectIds, so a $gt on the last one walks the _id index in order
+        Object lastId = state != null ? state.get("lastId") : null;
+        long migrated = state != null ? state.get("migrated", 0L) : 0L;
+        log.info("Migrating orders to the compact layout{}", lastId != null ? ", resuming after " + lastId : "");
+
+        while (true) {
+            Bson after = lastId != null ? gt("_id", lastId) : new Document();
+            List<Document> batch = orders.find(after).sort(ascending("_id")).limit(batchSize).into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                break;
+            }
+            migrated += migrateBatch(orders, batch);
+            lastId = batch.get(batch.size() - 1).get("_id");
+            migrations.updateOne(eq("_id", MIGRATION_ID),
+                    combine(set("lastId", lastId), set("migrated", migrated), set("updatedAt", new Date())),
+                    new UpdateOptions().upsert(true));
+            // Renews the lease for the next batch
+            if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                log.warn("Lost the order schema migration lease after {} orders, stopping", migrated);
+                return;
+            }
+            Thread.sleep(batchPause.toMillis());
+        }
+
+        dropLegacyIndex(orders);
+        migrations.updateOne(eq("_id", MIGRATION_ID),
+                combine(set("migrated", migrated), set("completedAt", new Date())), new UpdateOptions().upsert(true));
+        completed = true;
+        log.info("Order schema migration finished, {} orders rewritten", migrated);
+    }
+
+    /**
+     * Rewrites the unmigrated orders matching {@code legacyFilter}, which is written against the old
+     * field names and values (e.g. {@code eq("status", "PENDING")}), so that a query on the compact
+     * layout that follows also finds them. Does nothing once the migration has finished.
+     */
+    public void migrateMatching(Bson legacyFilter) {
+        if (isCompleted()) {
+            return;
+        }
+        MongoCollection<Document> orders = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class));
+        List<Document> batch = new ArrayList<>(batchSize);
+        for (Document legacy : orders.find(and(exists("userId"), legacyFilter)).batchSize(batchSize)) {
+            batch.add(legacy);
+            if (batch.size() == batchSize) {
+                migrateBatch(orders, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrateBatch(orders, batch);
+        }
+    }
+
+    /**
+     * Rewrites the given orders if they are still in the old layout, so a guarded update on compact
+     * keys that follows matches them. Does nothing once the migration has finished.
+     */
+    public void migrateOrders(Collection<String> orderIds) {
+        if (orderIds.isEmpty() || isCompleted()) {
+            return;
+        }
+        // Ids are stored as ObjectIds whenever they are valid hex, as the mapping layer does on write
+        List<Object> ids = orderIds.stream()
+                .<Object>map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .toList();
+        MongoCollection<Document> orders = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class));
+        List<Document> legacy = orders.find(and(in("_id", ids), exists("userId"))).into(new ArrayList<>());
+        if (!legacy.isEmpty()) {
+            migrateBatch(orders, legacy);
+        }
+    }
+
+    /**
+     * Fails with 503 while the migration is still running, for queries that filter on order fields and
+     * would otherwise leave unmigrated orders out of their results.
+     */
+    public void requireCompleted() {
+        if (enabled && !isCompleted()) {
+            throw new SchemaMigrationInProgressException(
+                    "Orders are being migrated to a new storage layout, listings are available once it completes");
+        }
+    }
+
+    boolean isCompleted() {
+        if (!completed) {
+            Document state = mongoTemplate.getCollection(MIGRATIONS_COLLECTION).find(eq("_id", MIGRATION_ID)).first();
+            completed = state != null && state.get("completedAt") != null;
+        }
+        return completed;
+    }
+
+    long migrateBatch(MongoCollection<Document> orders, List<Document> batch) {
+        List<ReplaceOneModel<Document>> replacements = batch.stream()
+                .filter(LegacyOrderDocuments::isLegacy)
+                .map(legacy -> new ReplaceOneModel<>(
+                        and(eq("_id", legacy.get("_id")), exists("userId")),
+                        LegacyOrderDocuments.toCompact(legacy)))
+                .toList();
+        if (replacements.isEmpty()) {
+            return 0;
+        }
+        BulkWriteResult result = orders.bulkWrite(replacements, new BulkWriteOptions().ordered(false));
+        return result.getModifiedCount();
+    }
+
+    private void dropLegacyIndex(MongoCollection<Document> orders) {
+        for (Document index : orders.listIndexes()) {
+            if (LEGACY_INDEX.equals(index.getString("name"))) {
+                orders.dropIndex(LEGACY_INDEX);
+                log.info("Dropped index {} on the old field names", LEGACY_INDEX);
+            }
+        }
+    }
+}
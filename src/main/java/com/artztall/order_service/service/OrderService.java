@@ -1,16 +1,35 @@
 package com.artztall.order_service.service;
 
+import com.artztall.order_service.dto.ArtisanSalesSummaryDTO;
+import com.artztall.order_service.dto.OrderBatchResultDTO;
 import com.artztall.order_service.dto.OrderCreateDTO;
+import com.artztall.order_service.dto.OrderPageDTO;
 import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.dto.OrderStatusBatchResultDTO;
+import com.artztall.order_service.dto.OrderStatusUpdateDTO;
+import com.artztall.order_service.dto.OrderSummaryDTO;
+import com.artztall.order_service.dto.OrderSummaryPageDTO;
 import com.artztall.order_service.model.OrderStatus;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrderService {
-    OrderResponseDTO createOrder(OrderCreateDTO orderCreateDTO);
+    CompletableFuture<OrderResponseDTO> createOrder(OrderCreateDTO orderCreateDTO);
+    OrderBatchResultDTO createOrders(List<OrderCreateDTO> orderCreateDTOs);
     OrderResponseDTO getOrder(String orderId);
+    OrderSummaryDTO getOrderSummary(String orderId);
     List<OrderResponseDTO> getUserOrders(String userId);
+    List<OrderSummaryDTO> getUserOrderSummaries(String userId);
+    OrderPageDTO getUserOrdersPage(String userId, String cursor, Integer limit);
+    OrderSummaryPageDTO getUserOrderSummaries(String userId, String cursor, Integer limit);
     OrderResponseDTO updateOrderStatus(String orderId, OrderStatus status);
+    OrderResponseDTO updateOrderStatus(String orderId, OrderStatus status, Long expectedVersion);
+    OrderStatusBatchResultDTO updateOrderStatuses(List<OrderStatusUpdateDTO> updates);
     void deleteOrder(String orderId);
     List<OrderResponseDTO> getOrdersByArtisan(String artisanId);
+    List<OrderSummaryDTO> getArtisanOrderSummaries(String artisanId);
+    OrderPageDTO getOrdersByArtisanPage(String artisanId, String cursor, Integer limit);
+    OrderSummaryPageDTO getArtisanOrderSummaries(String artisanId, String cursor, Integer limit);
+    ArtisanSalesSummaryDTO getArtisanSalesSummary(String artisanId);
 }
\ No newline at end of file
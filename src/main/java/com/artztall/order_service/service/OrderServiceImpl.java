@@ -1,121 +1,575 @@
 package com.artztall.order_service.service;
 
+import com.artztall.order_service.config.OrderBatchProperties;
 import com.artztall.order_service.dto.*;
+import com.artztall.order_service.exception.DownstreamUnavailableException;
+import com.artztall.order_service.exception.InvalidBatchException;
+import com.artztall.order_service.exception.OrderConflictException;
 import com.artztall.order_service.model.*;
+import com.artztall.order_service.repository.OrderCursor;
 import com.artztall.order_service.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
+import com.artztall.order_service.repository.StatusTransition;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+// Tagged by method; histogram buckets let Prometheus aggregate latency percentiles across instances
+@Timed(value = "orders.service", description = "Time spent in OrderService operations", histogram = true)
 public class OrderServiceImpl implements OrderService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    // Upper bound for the legacy unpaginated listings; callers needing more should page
+    static final int MAX_UNPAGINATED_RESULTS = 500;
+    private static final Pageable UNPAGINATED_NEWEST_FIRST =
+            PageRequest.of(0, MAX_UNPAGINATED_RESULTS, Sort.by(Sort.Direction.DESC, "createdAt", "_id"));
+
     private final OrderRepository orderRepository;
     private final ProductClientService productClientService;
     private final NotificationClientService notificationClientService;
+    private final ArtisanSalesService artisanSalesService;
+    private final OrderBatchProperties batchProperties;
+    private final Scheduler blockingCallScheduler;
+    private final OrderReadCache orderReadCache;
+    private final OrderExpiryScheduler orderExpiryScheduler;
+    private final OrderSchemaMigration orderSchemaMigration;
+    private final TransactionOperations transactions;
+    // Rendered once; the same window drives the expiry scheduler and the abandoned-order sweeper
+    private final String paymentWindowText;
+
+    public OrderServiceImpl(
+            OrderRepository orderRepository,
+            ProductClientService productClientService,
+            NotificationClientService notificationClientService,
+            ArtisanSalesService artisanSalesService,
+            OrderBatchProperties batchProperties,
+            Scheduler blockingCallScheduler,
+            OrderReadCache orderReadCache,
+            OrderExpiryScheduler orderExpiryScheduler,
+            OrderSchemaMigration orderSchemaMigration,
+            TransactionOperations transactions,
+            @Value("${orders.sweeper.payment-window:15m}") Duration paymentWindow) {
+        this.orderRepository = orderRepository;
+        this.productClientService = productClientService;
+        this.notificationClientService = notificationClientService;
+        this.artisanSalesService = artisanSalesService;
+        this.batchProperties = batchProperties;
+        this.blockingCallScheduler = blockingCallScheduler;
+        this.orderReadCache = orderReadCache;
+        this.orderExpiryScheduler = orderExpiryScheduler;
+        this.orderSchemaMigration = orderSchemaMigration;
+        this.transactions = transactions;
+        this.paymentWindowText = describe(paymentWindow);
+    }
 
+    /**
+     * Creates the order without holding the request thread: product-service calls are non-blocking and
+     * MongoDB writes run on the blocking-call scheduler. The order and its outbox notification are
+     * written in one transaction, then the sales summary is updated on a best-effort basis. A failed save
+     * releases the reservation.
+     */
     @Override
-    @Transactional
-    public OrderResponseDTO createOrder(OrderCreateDTO orderCreateDTO) {
+    public CompletableFuture<OrderResponseDTO> createOrder(OrderCreateDTO orderCreateDTO) {
         log.info("Creating order for user: {}", orderCreateDTO.getUserId());
+        String productId = orderCreateDTO.getItem().getProductId();
+
+        // Assembled here so downstream timeouts come from this request's deadline
+        Mono<ProductResponseDTO> lookup = productClientService.getProductAsync(productId);
+        Mono<Void> reservation = productClientService.reserveProductAsync(productId);
+
+        return lookup
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Product not found: " + productId)))
+                // Validate the single product exists and is available; the snapshot is reused for the order item
+                .map(product -> checkProduct(orderCreateDTO.getItem(), product))
+                .flatMap(product -> reservation
+                        .doOnSuccess(ignored -> log.info("Reserved product: {}", productId))
+                        .onErrorMap(e -> !(e instanceof DownstreamUnavailableException), e -> {
+                            log.error("Failed to reserve product: {}", productId, e);
+                            return new RuntimeException("Failed to reserve product: " + productId);
+                        })
+                        .then(saveNewOrder(orderCreateDTO, product))
+                        .doOnNext(orderReadCache::invalidate)
+                        .doOnNext(orderExpiryScheduler::schedule)
+                        // The order is committed by now; a failed summary update must not fail the request
+                        .flatMap(savedOrder -> blocking(() -> artisanSalesService.recordOrderCreated(savedOrder))
+                                .onErrorResume(e -> {
+                                    log.error("Failed to record order {} in artisan sales", savedOrder.getId(), e);
+                                    return Mono.empty();
+                                })
+                                .thenReturn(savedOrder))
+                        .onErrorMap(e -> !(e instanceof DownstreamUnavailableException), e -> {
+                            log.error("Error creating order", e);
+                            return new RuntimeException("Failed to create order: " + e.getMessage());
+                        }))
+                .doOnError(DownstreamUnavailableException.class,
+                        // Surfaces as 503 so clients can tell an outage from a rejected order
+                        e -> log.warn("Product service unavailable while creating order: {}", e.getMessage()))
+                .map(savedOrder -> {
+                    log.info("Order created successfully: {}", savedOrder.getId());
+                    return mapToOrderResponse(savedOrder);
+                })
+                .toFuture();
+    }
 
-        // Validate the single product exists and is available
-        validateProduct(orderCreateDTO.getItem());
+    private Mono<Order> saveNewOrder(OrderCreateDTO orderCreateDTO, ProductResponseDTO product) {
+        String productId = orderCreateDTO.getItem().getProductId();
+        return Mono.fromCallable(() -> transactions.execute(status -> {
+                    Order savedOrder = orderRepository.save(newOrder(orderCreateDTO, product));
+                    notificationClientService.sendNotification(orderPlacedNotification(savedOrder));
+                    return savedOrder;
+                }))
+                .subscribeOn(blockingCallScheduler)
+                .onErrorResume(e -> {
+                    log.error("Failed to save order, releasing product: {}", productId, e);
+                    return productClientService.releaseProductAsync(productId)
+                            .doOnError(releaseError -> log.error("Failed to release product: {}", productId, releaseError))
+                            .onErrorComplete()
+                            .then(Mono.error(e));
+                });
+    }
 
-        try {
-            // Reserve the product
+    private Mono<Void> blocking(Runnable task) {
+        return Mono.fromRunnable(task).subscribeOn(blockingCallScheduler).then();
+    }
+
+    /**
+     * Creates many orders in one pass: products are looked up once per distinct id, reservations run
+     * with bounded parallelism and the reserved orders are stored with a single bulk insert. One
+     * order failing never fails the others; each gets its own result at its position in the request.
+     */
+    @Override
+    public OrderBatchResultDTO createOrders(List<OrderCreateDTO> orderCreateDTOs) {
+        if (orderCreateDTOs == null || orderCreateDTOs.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one order");
+        }
+        if (orderCreateDTOs.size() > batchProperties.getMaxSize()) {
+            throw new InvalidBatchException("Batch exceeds the maximum of " + batchProperties.getMaxSize() + " orders");
+        }
+        log.info("Creating batch of {} orders", orderCreateDTOs.size());
+
+        OrderBatchItemResultDTO[] results = new OrderBatchItemResultDTO[orderCreateDTOs.size()];
+        List<String> productIds = orderCreateDTOs.stream()
+                .map(this::productIdOf)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        ProductClientService.ProductLookup lookup =
+                productClientService.getProducts(productIds, batchProperties.getLookupConcurrency());
+
+        // Each product is a single artwork, so only the first order for it in the batch can be accepted
+        Map<Integer, ProductResponseDTO> accepted = new LinkedHashMap<>();
+        Set<String> claimedProductIds = new HashSet<>();
+        for (int i = 0; i < orderCreateDTOs.size(); i++) {
+            OrderCreateDTO orderCreateDTO = orderCreateDTOs.get(i);
+            String productId = productIdOf(orderCreateDTO);
             try {
-                productClientService.reserveProduct(orderCreateDTO.getItem().getProductId());
-                log.info("Reserved product: {}", orderCreateDTO.getItem().getProductId());
-            } catch (Exception e) {
-                log.error("Failed to reserve product: {}", orderCreateDTO.getItem().getProductId(), e);
-                throw new RuntimeException("Failed to reserve product: " + orderCreateDTO.getItem().getProductId());
+                if (productId == null) {
+                    throw new RuntimeException("Order item with a product id is required");
+                }
+                RuntimeException lookupFailure = lookup.failures().get(productId);
+                if (lookupFailure != null) {
+                    log.error("Failed to look up product: {}", productId, lookupFailure);
+                    throw new RuntimeException("Failed to look up product: " + productId);
+                }
+                ProductResponseDTO product = checkProduct(orderCreateDTO.getItem(), lookup.products().get(productId));
+                if (!claimedProductIds.add(productId)) {
+                    throw new RuntimeException("Product already ordered earlier in this batch: " + productId);
+                }
+                accepted.put(i, product);
+            } catch (RuntimeException e) {
+                results[i] = OrderBatchItemResultDTO.failed(i, e.getMessage());
             }
+        }
 
-            Order order = new Order();
-            order.setUserId(orderCreateDTO.getUserId());
-            order.setItem(mapToOrderItem(orderCreateDTO));
-            order.setTotalAmount(calculateTotalAmount(order));
-            order.setStatus(OrderStatus.PENDING);
-            order.setPaymentStatus(PaymentStatus.PENDING);
-            order.setShippingAddress(orderCreateDTO.getShippingAddress());
-            order.setSpecialInstructions(orderCreateDTO.getSpecialInstructions());
-            order.setCreatedAt(LocalDateTime.now());
-            order.setUpdatedAt(LocalDateTime.now());
-
-            Order savedOrder = orderRepository.save(order);
-
-            // Send notification
-            NotificationSendDTO notification = new NotificationSendDTO();
-            notification.setUserId(savedOrder.getUserId());
-            notification.setMessage("Your order #" + savedOrder.getId() + " has been successfully placed. Please complete payment within 15 minutes.");
-            notification.setType("INFO");
-            notification.setActionUrl("http://localhost:5173/payment/" + savedOrder.getId());
-            notificationClientService.sendNotification(notification);
-
-            log.info("Order created successfully: {}", savedOrder.getId());
-            return mapToOrderResponse(savedOrder);
+        Map<String, RuntimeException> reservationFailures = accepted.isEmpty() ? Map.of()
+                : productClientService.reserveProducts(
+                        accepted.keySet().stream().map(i -> productIdOf(orderCreateDTOs.get(i))).toList(),
+                        batchProperties.getReserveConcurrency());
+        List<Integer> reservedIndexes = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        accepted.forEach((i, product) -> {
+            String productId = productIdOf(orderCreateDTOs.get(i));
+            RuntimeException failure = reservationFailures.get(productId);
+            if (failure != null) {
+                log.error("Failed to reserve product: {}", productId, failure);
+                results[i] = OrderBatchItemResultDTO.failed(i, "Failed to reserve product: " + productId);
+            } else {
+                reservedIndexes.add(i);
+                orders.add(newOrder(orderCreateDTOs.get(i), product));
+            }
+        });
 
-        } catch (Exception e) {
-            log.error("Error creating order", e);
-            throw new RuntimeException("Failed to create order: " + e.getMessage());
+        if (!orders.isEmpty()) {
+            List<Order> savedOrders;
+            try {
+                // The outbox entries commit with the orders, so no confirmation is lost between the writes
+                savedOrders = transactions.execute(status -> {
+                    List<Order> inserted = orderRepository.insert(orders);
+                    notificationClientService.sendNotifications(inserted.stream().map(this::orderPlacedNotification).toList());
+                    return inserted;
+                });
+            } catch (Exception e) {
+                log.error("Failed to save batch of {} orders", orders.size(), e);
+                orders.forEach(this::releaseOrderProduct);
+                reservedIndexes.forEach(i -> results[i] = OrderBatchItemResultDTO.failed(i, "Failed to save order"));
+                return toBatchResult(results);
+            }
+            orderReadCache.invalidate(savedOrders);
+            orderExpiryScheduler.schedule(savedOrders);
+            try {
+                artisanSalesService.recordOrdersCreated(savedOrders);
+            } catch (Exception e) {
+                log.error("Failed to record batch of {} orders in artisan sales", savedOrders.size(), e);
+            }
+            for (int k = 0; k < savedOrders.size(); k++) {
+                int index = reservedIndexes.get(k);
+                results[index] = OrderBatchItemResultDTO.created(index, mapToOrderResponse(savedOrders.get(k)));
+            }
         }
+        return toBatchResult(results);
     }
 
     @Override
     public OrderResponseDTO getOrder(String orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        return mapToOrderResponse(order);
+        return orderReadCache.getOrder(orderId, id -> mapToOrderResponse(orderRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order not found"))));
+    }
+
+    // Reads only the summary fields, so the compact schema must be in place; not served from the order cache
+    @Override
+    public OrderSummaryDTO getOrderSummary(String orderId) {
+        orderSchemaMigration.requireCompleted();
+        Order order = orderRepository.findSummaryById(orderId);
+        if (order == null) {
+            throw new RuntimeException("Order not found");
+        }
+        return mapToOrderSummary(order);
     }
 
     @Override
     public List<OrderResponseDTO> getUserOrders(String userId) {
-        return orderRepository.findByUserId(userId).stream()
+        orderSchemaMigration.requireCompleted();
+        return orderReadCache.getUserOrders(userId, id -> orderRepository.findByUserId(id, UNPAGINATED_NEWEST_FIRST).stream()
                 .map(this::mapToOrderResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<OrderSummaryDTO> getUserOrderSummaries(String userId) {
+        orderSchemaMigration.requireCompleted();
+        return orderRepository.findSummariesByUserId(userId).stream()
+                .map(this::mapToOrderSummary)
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
+    public OrderPageDTO getUserOrdersPage(String userId, String cursor, Integer limit) {
+        orderSchemaMigration.requireCompleted();
+        int pageSize = resolvePageSize(limit);
+        List<Order> orders = orderRepository.findPageByUserId(userId, decodeCursor(cursor), pageSize + 1);
+        return toPage(orders, pageSize);
+    }
+
+    @Override
+    public OrderSummaryPageDTO getUserOrderSummaries(String userId, String cursor, Integer limit) {
+        orderSchemaMigration.requireCompleted();
+        int pageSize = resolvePageSize(limit);
+        List<Order> orders = orderRepository.findSummaryPageByUserId(userId, decodeCursor(cursor), pageSize + 1);
+        return toSummaryPage(orders, pageSize);
+    }
+
+    @Override
     public OrderResponseDTO updateOrderStatus(String orderId, OrderStatus status) {
-        log.info("Updating order status: {} to {}", orderId, status);
+        return updateOrderStatus(orderId, status, null);
+    }
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+    /**
+     * Applies a status transition with one conditional findAndModify: the update only matches while the
+     * order is in a status allowed to move to {@code status} (and at {@code expectedVersion}, if given),
+     * so a payment confirmation racing the sweeper cannot revive an expired order.
+     */
+    @Override
+    public OrderResponseDTO updateOrderStatus(String orderId, OrderStatus status, Long expectedVersion) {
+        log.info("Updating order status: {} to {}", orderId, status);
 
-        order.setStatus(status);
-        order.setUpdatedAt(LocalDateTime.now());
-        if(status == OrderStatus.CONFIRMED){
-            order.setPaymentStatus(PaymentStatus.COMPLETED);
-        }else if(status == OrderStatus.EXPIRED){
-            order.setPaymentStatus(PaymentStatus.FAILED);
+        LocalDateTime now = LocalDateTime.now();
+        // The guard is on the compact status key, which an order still in the old layout does not have
+        orderSchemaMigration.migrateOrders(List.of(orderId));
+        // The notification commits with the change, so a crash between the two writes cannot lose it
+        Order previous = transactions.execute(tx -> {
+            Order before = orderRepository.transitionStatus(orderId, status, expectedVersion, now);
+            if (before != null) {
+                notificationClientService.sendNotification(
+                        statusUpdatedNotification(List.of(applyTransition(before, status, now))));
+            }
+            return before;
+        });
+        if (previous == null) {
+            return resolveRejectedTransition(orderId, status, expectedVersion);
         }
-        Order updatedOrder = orderRepository.save(order);
+
+        Order updatedOrder = applyTransition(previous, status, now);
+        orderReadCache.invalidate(updatedOrder);
+        // No transition leads back to PENDING, so the order can no longer expire
+        orderExpiryScheduler.cancel(orderId);
+        artisanSalesService.recordStatusChange(updatedOrder, previous.getStatus(), previous.getPaymentStatus());
 
         // If order is cancelled or expired, release the product
         if (status == OrderStatus.CANCELLED || status == OrderStatus.EXPIRED) {
-            releaseOrderProduct(order);
+            releaseOrderProduct(updatedOrder);
+        }
+
+        log.info("Order status updated successfully: {}", orderId);
+        return mapToOrderResponse(updatedOrder);
+    }
+
+    // The guarded update matched nothing: find out whether the order is missing, already in the
+    // requested status (a retried call, answered as is) or in conflict
+    private OrderResponseDTO resolveRejectedTransition(String orderId, OrderStatus status, Long expectedVersion) {
+        Order current = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        long currentVersion = current.getVersion() == null ? 0 : current.getVersion();
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new OrderConflictException("Order " + orderId + " is at version " + currentVersion
+                    + ", expected " + expectedVersion);
+        }
+        if (current.getStatus() == status) {
+            return mapToOrderResponse(current);
+        }
+        throw new OrderConflictException("Order " + orderId + " cannot move from " + current.getStatus() + " to " + status);
+    }
+
+    /**
+     * Applies many status changes in a fixed number of round trips: one read of the orders, one bulk
+     * write guarded by the status and version each order was read in, committed in one transaction with
+     * an outbox insert of a digest per user, and one bulk write of the sales summaries. A second read is made only when a guard lost
+     * a race, to tell which changes landed. Each change gets its own result at its position in the
+     * request; rules are the same as for a single update, including answering a change to the status
+     * the order already has as is.
+     */
+    @Override
+    public OrderStatusBatchResultDTO updateOrderStatuses(List<OrderStatusUpdateDTO> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one status update");
+        }
+        if (updates.size() > batchProperties.getMaxSize()) {
+            throw new InvalidBatchException("Batch exceeds the maximum of " + batchProperties.getMaxSize() + " updates");
+        }
+        log.info("Updating status of {} orders", updates.size());
+
+        OrderStatusBatchItemResultDTO[] results = new OrderStatusBatchItemResultDTO[updates.size()];
+        List<String> orderIds = updates.stream()
+                .map(OrderStatusUpdateDTO::getOrderId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, Order> current = new HashMap<>();
+        orderRepository.findAllById(orderIds).forEach(order -> current.put(order.getId(), order));
+
+        // Mongo keeps milliseconds; truncating lets a re-read recognise this batch's writes
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<Integer, Order> pending = new LinkedHashMap<>();
+        List<StatusTransition> transitions = new ArrayList<>();
+        Set<String> claimedOrderIds = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            OrderStatusUpdateDTO update = updates.get(i);
+            String orderId = update.getOrderId();
+            try {
+                if (orderId == null || update.getStatus() == null) {
+                    throw new RuntimeException("Order id and status are required");
+                }
+                if (!claimedOrderIds.add(orderId)) {
+                    throw new RuntimeException("Order already updated earlier in this batch: " + orderId);
+                }
+                Order order = current.get(orderId);
+                if (order == null) {
+                    throw new RuntimeException("Order not found");
+                }
+                long currentVersion = order.getVersion() == null ? 0 : order.getVersion();
+                if (update.getExpectedVersion() != null && update.getExpectedVersion() != currentVersion) {
+                    throw new OrderConflictException("Order " + orderId + " is at version " + currentVersion
+                            + ", expected " + update.getExpectedVersion());
+                }
+                if (order.getStatus() == update.getStatus()) {
+                    results[i] = OrderStatusBatchItemResultDTO.updated(i, mapToOrderResponse(order));
+                    continue;
+                }
+                if (order.getStatus() == null || !order.getStatus().canTransitionTo(update.getStatus())) {
+                    throw new OrderConflictException("Order " + orderId + " cannot move from " + order.getStatus()
+                            + " to " + update.getStatus());
+                }
+                pending.put(i, order);
+                transitions.add(new StatusTransition(orderId, order.getStatus(), order.getVersion(), update.getStatus()));
+            } catch (RuntimeException e) {
+                results[i] = OrderStatusBatchItemResultDTO.failed(i, orderId, e.getMessage());
+            }
+        }
+
+        if (!transitions.isEmpty()) {
+            applyTransitions(transitions, pending, now, results);
+        }
+        return toStatusBatchResult(results);
+    }
+
+    private void applyTransitions(List<StatusTransition> transitions, Map<Integer, Order> pending, LocalDateTime now,
+                                  OrderStatusBatchItemResultDTO[] results) {
+        Set<String> applied;
+        try {
+            orderSchemaMigration.migrateOrders(transitions.stream().map(StatusTransition::orderId).toList());
+            // The digests commit with the changes they describe, or neither does
+            applied = transactions.execute(status -> {
+                int matched = orderRepository.transitionStatuses(transitions, now);
+                Set<String> landed = matched == transitions.size()
+                        ? transitions.stream().map(StatusTransition::orderId).collect(Collectors.toSet())
+                        : appliedTransitions(transitions, now);
+                notificationClientService.sendNotifications(
+                        changedOrders(pending, transitions, landed, now).stream()
+                                .collect(Collectors.groupingBy(Order::getUserId, LinkedHashMap::new, Collectors.toList()))
+                                .values().stream()
+                                .map(this::statusUpdatedNotification)
+                                .toList());
+                return landed;
+            });
+        } catch (Exception e) {
+            log.error("Bulk status update of {} orders failed", transitions.size(), e);
+            // Rolled back as a whole, so none of the changes landed
+            applied = Set.of();
+        }
+
+        List<Order> previousOrders = new ArrayList<>();
+        List<Order> updatedOrders = new ArrayList<>();
+        int k = 0;
+        for (Map.Entry<Integer, Order> entry : pending.entrySet()) {
+            StatusTransition transition = transitions.get(k++);
+            int index = entry.getKey();
+            if (!applied.contains(transition.orderId())) {
+                results[index] = OrderStatusBatchItemResultDTO.failed(index, transition.orderId(),
+                        "Order " + transition.orderId() + " changed while the batch was applied");
+                continue;
+            }
+            Order updatedOrder = applyTransition(entry.getValue(), transition.to(), now);
+            previousOrders.add(entry.getValue());
+            updatedOrders.add(updatedOrder);
+            results[index] = OrderStatusBatchItemResultDTO.updated(index, mapToOrderResponse(updatedOrder));
+        }
+        if (updatedOrders.isEmpty()) {
+            return;
+        }
+
+        orderReadCache.invalidate(updatedOrders);
+        updatedOrders.forEach(order -> orderExpiryScheduler.cancel(order.getId()));
+        artisanSalesService.recordStatusChanges(previousOrders, updatedOrders);
+        releaseProducts(updatedOrders.stream()
+                .filter(order -> order.getStatus() == OrderStatus.CANCELLED || order.getStatus() == OrderStatus.EXPIRED)
+                .toList());
+        log.info("Updated status of {} orders", updatedOrders.size());
+    }
+
+    private List<Order> changedOrders(Map<Integer, Order> pending, List<StatusTransition> transitions,
+                                      Set<String> applied, LocalDateTime now) {
+        List<Order> changed = new ArrayList<>();
+        int k = 0;
+        for (Order order : pending.values()) {
+            StatusTransition transition = transitions.get(k++);
+            if (applied.contains(transition.orderId())) {
+                changed.add(applyTransition(order, transition.to(), now));
+            }
+        }
+        return changed;
+    }
+
+    // Changes made by this batch carry its timestamp and exactly one more version than was read
+    private Set<String> appliedTransitions(List<StatusTransition> transitions, LocalDateTime updatedAt) {
+        Map<String, StatusTransition> byId = transitions.stream()
+                .collect(Collectors.toMap(StatusTransition::orderId, transition -> transition));
+        return orderRepository.findStatesByIdIn(byId.keySet()).stream()
+                .filter(order -> {
+                    StatusTransition transition = byId.get(order.getId());
+                    long readVersion = transition.fromVersion() == null ? 0 : transition.fromVersion();
+                    return order.getStatus() == transition.to()
+                            && updatedAt.equals(order.getUpdatedAt())
+                            && order.getVersion() != null && order.getVersion() == readVersion + 1;
+                })
+                .map(Order::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private void releaseProducts(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
         }
+        try {
+            productClientService.releaseProducts(
+                    orders.stream().map(order -> order.getItem().getProductId()).toList(),
+                    batchProperties.getReserveConcurrency())
+                    .forEach((productId, failure) -> log.error("Failed to release product: {}", productId, failure));
+        } catch (Exception e) {
+            log.error("Failed to release products of {} orders", orders.size(), e);
+        }
+    }
 
-        // Send notification
+    // One notification per user, however many of their orders changed
+    private NotificationSendDTO statusUpdatedNotification(List<Order> orders) {
         NotificationSendDTO notification = new NotificationSendDTO();
-        notification.setUserId(updatedOrder.getUserId());
+        notification.setUserId(orders.get(0).getUserId());
         notification.setType("INFO");
-        notification.setMessage("Your order #" + updatedOrder.getId() + " status has been updated to " + status);
-        notification.setActionUrl("http://localhost:5173/orders/" + updatedOrder.getId());
-        notificationClientService.sendNotification(notification);
+        if (orders.size() == 1) {
+            Order order = orders.get(0);
+            notification.setMessage("Your order #" + order.getId() + " status has been updated to " + order.getStatus());
+            notification.setActionUrl("http://localhost:5173/orders/" + order.getId());
+        } else {
+            notification.setMessage(orders.size() + " of your orders have been updated: " + orders.stream()
+                    .map(order -> "#" + order.getId() + " is now " + order.getStatus())
+                    .collect(Collectors.joining(", ")));
+            notification.setActionUrl("http://localhost:5173/orders");
+        }
+        return notification;
+    }
 
-        log.info("Order status updated successfully: {}", orderId);
-        return mapToOrderResponse(updatedOrder);
+    private OrderStatusBatchResultDTO toStatusBatchResult(OrderStatusBatchItemResultDTO[] results) {
+        int updated = (int) Arrays.stream(results).filter(OrderStatusBatchItemResultDTO::isSuccess).count();
+        return new OrderStatusBatchResultDTO(updated, results.length - updated, Arrays.asList(results));
+    }
+
+    private Order applyTransition(Order previous, OrderStatus status, LocalDateTime updatedAt) {
+        Order order = new Order();
+        order.setId(previous.getId());
+        order.setUserId(previous.getUserId());
+        order.setItem(previous.getItem());
+        order.setTotalAmount(previous.getTotalAmount());
+        order.setStatus(status);
+        order.setPaymentStatus(status.impliedPaymentStatus() != null ? status.impliedPaymentStatus() : previous.getPaymentStatus());
+        order.setShippingAddress(previous.getShippingAddress());
+        order.setSpecialInstructions(previous.getSpecialInstructions());
+        order.setCreatedAt(previous.getCreatedAt());
+        order.setUpdatedAt(updatedAt);
+        order.setVersion(previous.getVersion() == null ? 1 : previous.getVersion() + 1);
+        return order;
     }
 
     @Override
@@ -126,55 +580,57 @@ public class OrderServiceImpl implements OrderService {
 
         // Release product before deleting
         releaseOrderProduct(order);
+        LocalDateTime deletedAt = LocalDateTime.now();
         orderRepository.deleteById(orderId);
+        orderReadCache.invalidate(order);
+        orderExpiryScheduler.cancel(orderId);
+        artisanSalesService.recordOrderDeleted(order, deletedAt);
         log.info("Order deleted successfully: {}", orderId);
     }
 
     @Override
     public List<OrderResponseDTO> getOrdersByArtisan(String artisanId) {
         log.info("Fetching confirmed orders for artisan: {}", artisanId);
+        orderSchemaMigration.requireCompleted();
 
-        return orderRepository.findByItem_ArtistId(artisanId).stream()
-                .filter(order -> PaymentStatus.COMPLETED.equals(order.getPaymentStatus())) // Filter by paymentStatus
+        return orderRepository.findByItem_ArtistIdAndPaymentStatus(artisanId, PaymentStatus.COMPLETED, UNPAGINATED_NEWEST_FIRST).stream()
                 .map(this::mapToOrderResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<OrderSummaryDTO> getArtisanOrderSummaries(String artisanId) {
+        orderSchemaMigration.requireCompleted();
+        return orderRepository.findSummariesByArtistIdAndPaymentStatus(artisanId, PaymentStatus.COMPLETED).stream()
+                .map(this::mapToOrderSummary)
+                .collect(Collectors.toList());
+    }
 
-    @Scheduled(fixedRate = 60000)
-    @Transactional
-    public void releaseAbandonedOrders() {
-        log.info("Checking for abandoned orders...");
+    @Override
+    public OrderPageDTO getOrdersByArtisanPage(String artisanId, String cursor, Integer limit) {
+        orderSchemaMigration.requireCompleted();
+        int pageSize = resolvePageSize(limit);
+        List<Order> orders = orderRepository.findPageByArtistIdAndPaymentStatus(
+                artisanId, PaymentStatus.COMPLETED, decodeCursor(cursor), pageSize + 1);
+        return toPage(orders, pageSize);
+    }
 
-        LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(15);
-        List<Order> abandonedOrders = orderRepository.findByStatusAndCreatedAtBefore(
-                OrderStatus.PENDING,
-                expirationTime
-        );
+    @Override
+    public OrderSummaryPageDTO getArtisanOrderSummaries(String artisanId, String cursor, Integer limit) {
+        orderSchemaMigration.requireCompleted();
+        int pageSize = resolvePageSize(limit);
+        List<Order> orders = orderRepository.findSummaryPageByArtistIdAndPaymentStatus(
+                artisanId, PaymentStatus.COMPLETED, decodeCursor(cursor), pageSize + 1);
+        return toSummaryPage(orders, pageSize);
+    }
 
-        for (Order order : abandonedOrders) {
-            try {
-                releaseOrderProduct(order);
-                order.setStatus(OrderStatus.EXPIRED);
-                orderRepository.save(order);
-
-                // Send notification
-                NotificationSendDTO notification = new NotificationSendDTO();
-                notification.setUserId(order.getUserId());
-                notification.setMessage("Your order #" + order.getId() + " has expired due to incomplete payment.");
-                notification.setType("WARNING");
-                notification.setActionUrl("http://localhost:5173/orders/" + order.getId());
-                notificationClientService.sendNotification(notification);
-
-                log.info("Released abandoned order: {}", order.getId());
-            } catch (Exception e) {
-                log.error("Failed to process abandoned order: {}", order.getId(), e);
-            }
-        }
+    @Override
+    public ArtisanSalesSummaryDTO getArtisanSalesSummary(String artisanId) {
+        return artisanSalesService.getSummary(artisanId);
     }
 
-    private void validateProduct(OrderItemDTO item) {
-        ProductResponseDTO product = productClientService.getProduct(item.getProductId());
+
+    private ProductResponseDTO checkProduct(OrderItemDTO item, ProductResponseDTO product) {
         if (product == null) {
             throw new RuntimeException("Product not found: " + item.getProductId());
         }
@@ -184,6 +640,54 @@ public class OrderServiceImpl implements OrderService {
         if (product.getStockQuantity() < item.getQuantity()) {
             throw new RuntimeException("Insufficient stock for product: " + item.getProductId());
         }
+        return product;
+    }
+
+    private String productIdOf(OrderCreateDTO orderCreateDTO) {
+        return orderCreateDTO.getItem() == null ? null : orderCreateDTO.getItem().getProductId();
+    }
+
+    private Order newOrder(OrderCreateDTO orderCreateDTO, ProductResponseDTO product) {
+        Order order = new Order();
+        order.setUserId(orderCreateDTO.getUserId());
+        order.setItem(mapToOrderItem(orderCreateDTO, product));
+        order.setTotalAmount(calculateTotalAmount(order));
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        order.setShippingAddress(orderCreateDTO.getShippingAddress());
+        order.setSpecialInstructions(orderCreateDTO.getSpecialInstructions());
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        return order;
+    }
+
+    static String describe(Duration window) {
+        long minutes = window.toMinutes();
+        if (minutes >= 60 && minutes % 60 == 0) {
+            return plural(minutes / 60, "hour");
+        }
+        if (minutes > 0 && window.toSecondsPart() == 0) {
+            return plural(minutes, "minute");
+        }
+        return plural(window.toSeconds(), "second");
+    }
+
+    private static String plural(long amount, String unit) {
+        return amount + " " + unit + (amount == 1 ? "" : "s");
+    }
+
+    private NotificationSendDTO orderPlacedNotification(Order order) {
+        NotificationSendDTO notification = new NotificationSendDTO();
+        notification.setUserId(order.getUserId());
+        notification.setMessage("Your order #" + order.getId() + " has been successfully placed. Please complete payment within " + paymentWindowText + ".");
+        notification.setType("INFO");
+        notification.setActionUrl("http://localhost:5173/payment/" + order.getId());
+        return notification;
+    }
+
+    private OrderBatchResultDTO toBatchResult(OrderBatchItemResultDTO[] results) {
+        int created = (int) Arrays.stream(results).filter(OrderBatchItemResultDTO::isSuccess).count();
+        return new OrderBatchResultDTO(created, results.length - created, Arrays.asList(results));
     }
 
     private void releaseOrderProduct(Order order) {
@@ -195,9 +699,8 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private OrderItem mapToOrderItem(OrderCreateDTO orderCreateDTO) {
+    private OrderItem mapToOrderItem(OrderCreateDTO orderCreateDTO, ProductResponseDTO product) {
         OrderItem orderItem = new OrderItem();
-        ProductResponseDTO product = productClientService.getProduct(orderCreateDTO.getItem().getProductId());
 
         orderItem.setProductId(orderCreateDTO.getItem().getProductId());
         orderItem.setProductName(product.getName());
@@ -223,11 +726,46 @@ public class OrderServiceImpl implements OrderService {
         return dimensions;
     }
 
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private OrderCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+    }
+
+    private OrderPageDTO toPage(List<Order> orders, int pageSize) {
+        return new OrderPageDTO(currentPage(orders, pageSize).stream().map(this::mapToOrderResponse)
+                .collect(Collectors.toList()), nextCursor(orders, pageSize));
+    }
+
+    private OrderSummaryPageDTO toSummaryPage(List<Order> orders, int pageSize) {
+        return new OrderSummaryPageDTO(currentPage(orders, pageSize).stream().map(this::mapToOrderSummary)
+                .collect(Collectors.toList()), nextCursor(orders, pageSize));
+    }
+
+    // Callers fetch one extra row so a next cursor is only issued when another page exists
+    private List<Order> currentPage(List<Order> orders, int pageSize) {
+        return orders.size() > pageSize ? orders.subList(0, pageSize) : orders;
+    }
+
+    private String nextCursor(List<Order> orders, int pageSize) {
+        if (orders.size() <= pageSize) {
+            return null;
+        }
+        Order last = orders.get(pageSize - 1);
+        return new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+
     private BigDecimal calculateTotalAmount(Order order) {
         return order.getItem().getSubtotal();
     }
 
-    private OrderResponseDTO mapToOrderResponse(Order order) {
+    // Package-visible for the JMH benchmarks in the benchmark profile
+    OrderResponseDTO mapToOrderResponse(Order order) {
         OrderResponseDTO responseDTO = new OrderResponseDTO();
         responseDTO.setId(order.getId());
         responseDTO.setUserId(order.getUserId());
@@ -239,10 +777,31 @@ public class OrderServiceImpl implements OrderService {
         responseDTO.setSpecialInstructions(order.getSpecialInstructions());
         responseDTO.setCreatedAt(order.getCreatedAt());
         responseDTO.setUpdatedAt(order.getUpdatedAt());
+        responseDTO.setVersion(order.getVersion());
         return responseDTO;
     }
 
-    private OrderItemResponseDTO mapToOrderItemResponse(OrderItem item) {
+    OrderSummaryDTO mapToOrderSummary(Order order) {
+        OrderSummaryDTO summaryDTO = new OrderSummaryDTO();
+        summaryDTO.setId(order.getId());
+        summaryDTO.setUserId(order.getUserId());
+        OrderItem item = order.getItem();
+        if (item != null) {
+            summaryDTO.setProductId(item.getProductId());
+            summaryDTO.setProductName(item.getProductName());
+            summaryDTO.setArtistId(item.getArtistId());
+            summaryDTO.setQuantity(item.getQuantity());
+        }
+        summaryDTO.setTotalAmount(order.getTotalAmount());
+        summaryDTO.setStatus(order.getStatus());
+        summaryDTO.setPaymentStatus(order.getPaymentStatus());
+        summaryDTO.setCreatedAt(order.getCreatedAt());
+        summaryDTO.setUpdatedAt(order.getUpdatedAt());
+        summaryDTO.setVersion(order.getVersion());
+        return summaryDTO;
+    }
+
+    OrderItemResponseDTO mapToOrderItemResponse(OrderItem item) {
         OrderItemResponseDTO itemDTO = new OrderItemResponseDTO();
         itemDTO.setProductId(item.getProductId());
         itemDTO.setProductName(item.getProductName());
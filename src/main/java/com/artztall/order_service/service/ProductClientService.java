@@ -1,40 +1,349 @@
 package com.artztall.order_service.service;
 
+import com.artztall.order_service.config.RequestDeadline;
+import com.artztall.order_service.config.ResilienceProperties;
 import com.artztall.order_service.dto.ProductAvailabilityRequest;
 import com.artztall.order_service.dto.ProductResponseDTO;
-import lombok.RequiredArgsConstructor;
+import com.artztall.order_service.exception.DownstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 
+
+/**
+ * Calls product-service. Each operation runs behind its own bulkhead and circuit breaker, and its
+ * timeout is capped by the remaining {@link RequestDeadline}. Rejected, timed out and 5xx calls
+ * surface as {@link DownstreamUnavailableException} so the caller answers 503 straight away.
+ */
 @Service
-@RequiredArgsConstructor
 public class ProductClientService {
+    static final String CLIENT_REQUESTS_METRIC = "orders.client.requests";
+
     private final WebClient productServiceWebClient;
+    private final Cache<String, ProductResponseDTO> productSnapshotCache;
+    private final Guard getGuard;
+    private final Guard reserveGuard;
+    private final Guard releaseGuard;
+    private final Duration callTimeout;
+    private final Duration hedgeDelay;
+
+    public ProductClientService(
+            WebClient productServiceWebClient,
+            Cache<String, ProductResponseDTO> productSnapshotCache,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            ResilienceProperties resilienceProperties,
+            MeterRegistry meterRegistry) {
+        this.productServiceWebClient = productServiceWebClient;
+        this.productSnapshotCache = productSnapshotCache;
+        this.getGuard = new Guard("get", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        this.reserveGuard = new Guard("reserve", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        this.releaseGuard = new Guard("release", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        this.callTimeout = resilienceProperties.getProductService().getCallTimeout();
+        this.hedgeDelay = resilienceProperties.getProductService().getHedgeDelay();
+    }
 
+    /**
+     * Returns a short-lived snapshot of the product. Reservation state is authoritative only in
+     * product-service, so callers must still rely on {@link #reserveProduct(String)} to claim stock.
+     */
     public ProductResponseDTO getProduct(String productId) {
-        return productServiceWebClient.get()
+        ProductResponseDTO cached = productSnapshotCache.getIfPresent(productId);
+        if (cached != null) {
+            return cached;
+        }
+        ProductResponseDTO product = fetchProduct(productId);
+        if (product != null) {
+            productSnapshotCache.put(productId, product);
+        }
+        return product;
+    }
+
+    public void reserveProduct(String productId) {
+        try {
+            await(reserveGuard, reserve(productId, timeout(reserveGuard)));
+        } finally {
+            productSnapshotCache.invalidate(productId);
+        }
+    }
+
+    public void releaseProduct(String productId) {
+        try {
+            await(releaseGuard, release(productId, timeout(releaseGuard)));
+        } finally {
+            productSnapshotCache.invalidate(productId);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #getProduct(String)}. Completes empty when the product does not exist.
+     * Like the other async variants it must be called on the request thread, where the timeout is
+     * taken from the request deadline; the returned Mono can then be subscribed anywhere.
+     */
+    public Mono<ProductResponseDTO> getProductAsync(String productId) {
+        ProductResponseDTO cached = productSnapshotCache.getIfPresent(productId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        Duration timeout;
+        try {
+            timeout = timeout(getGuard);
+        } catch (DownstreamUnavailableException e) {
+            return Mono.error(e);
+        }
+        return lookup(productId, timeout)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .onErrorMap(e -> translate(getGuard, e))
+                .doOnNext(product -> productSnapshotCache.put(productId, product));
+    }
+
+    public Mono<Void> reserveProductAsync(String productId) {
+        Duration timeout;
+        try {
+            timeout = timeout(reserveGuard);
+        } catch (DownstreamUnavailableException e) {
+            return Mono.error(e);
+        }
+        return reserve(productId, timeout)
+                .onErrorMap(e -> translate(reserveGuard, e))
+                .doFinally(signal -> productSnapshotCache.invalidate(productId))
+                .then();
+    }
+
+    public Mono<Void> releaseProductAsync(String productId) {
+        Duration timeout;
+        try {
+            timeout = timeout(releaseGuard);
+        } catch (DownstreamUnavailableException e) {
+            return Mono.error(e);
+        }
+        return release(productId, timeout)
+                .onErrorMap(e -> translate(releaseGuard, e))
+                .doFinally(signal -> productSnapshotCache.invalidate(productId))
+                .then();
+    }
+
+    /**
+     * Looks up many products at once: cached snapshots are used as is and the remaining ids are fetched
+     * concurrently without holding a thread per lookup. Products that do not exist are left out of both
+     * maps; every other failed lookup is returned per id so one slow or failing call never fails the rest.
+     */
+    public ProductLookup getProducts(Collection<String> productIds, int concurrency) {
+        Map<String, ProductResponseDTO> products = new HashMap<>(productSnapshotCache.getAllPresent(productIds));
+        Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+        List<String> missing = productIds.stream().distinct().filter(id -> !products.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return new ProductLookup(products, failures);
+        }
+        Duration timeout;
+        try {
+            timeout = timeout(getGuard);
+        } catch (DownstreamUnavailableException e) {
+            missing.forEach(id -> failures.put(id, e));
+            return new ProductLookup(products, failures);
+        }
+        Map<String, ProductResponseDTO> fetched = Flux.fromIterable(missing)
+                .flatMap(id -> lookup(id, timeout)
+                        .map(product -> Map.entry(id, product))
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                        .onErrorResume(e -> {
+                            failures.put(id, translate(getGuard, e));
+                            return Mono.empty();
+                        }), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+        productSnapshotCache.putAll(fetched);
+        products.putAll(fetched);
+        return new ProductLookup(products, failures);
+    }
+
+    /**
+     * Reserves many products with at most {@code concurrency} calls in flight. Returns the failure for
+     * every product that could not be reserved; an empty map means all were reserved.
+     */
+    public Map<String, RuntimeException> reserveProducts(Collection<String> productIds, int concurrency) {
+        Duration timeout = timeout(reserveGuard);
+        Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+        Flux.fromIterable(productIds)
+                .flatMap(id -> reserve(id, timeout)
+                        .onErrorResume(e -> {
+                            failures.put(id, translate(reserveGuard, e));
+                            return Mono.empty();
+                        })
+                        .doFinally(signal -> productSnapshotCache.invalidate(id)), concurrency)
+                .blockLast();
+        return failures;
+    }
+
+    /**
+     * Releases many products with at most {@code concurrency} calls in flight. Returns the failure for
+     * every product that could not be released; an empty map means all were released.
+     */
+    public Map<String, RuntimeException> releaseProducts(Collection<String> productIds, int concurrency) {
+        Duration timeout = timeout(releaseGuard);
+        Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+        Flux.fromIterable(productIds)
+                .flatMap(id -> release(id, timeout)
+                        .onErrorResume(e -> {
+                            failures.put(id, translate(releaseGuard, e));
+                            return Mono.empty();
+                        })
+                        .doFinally(signal -> productSnapshotCache.invalidate(id)), concurrency)
+                .blockLast();
+        return failures;
+    }
+
+    private ProductResponseDTO fetchProduct(String productId) {
+        return await(getGuard, lookup(productId, timeout(getGuard)));
+    }
+
+    private Mono<ProductResponseDTO> lookup(String productId, Duration timeout) {
+        Mono<ProductResponseDTO> attempt = getGuard.protect(productServiceWebClient.get()
                 .uri("/api/products/" + productId)
+                .header(RequestDeadline.HEADER, String.valueOf(timeout.toMillis()))
                 .retrieve()
-                .bodyToMono(ProductResponseDTO.class)
-                .block();
+                .bodyToMono(ProductResponseDTO.class), timeout);
+        if (hedgeDelay.isZero() || hedgeDelay.compareTo(timeout) >= 0) {
+            return attempt;
+        }
+        // The hedge only starts if the first attempt is still outstanding after the delay. Its errors are
+        // dropped so the first attempt's outcome stands unless the hedge answers sooner.
+        Mono<ProductResponseDTO> hedge = attempt.delaySubscription(hedgeDelay).onErrorResume(e -> Mono.never());
+        return Mono.firstWithSignal(attempt, hedge);
     }
 
-    public void reserveProduct(String productId) {
-        productServiceWebClient.put()
+    private Mono<ProductResponseDTO> reserve(String productId, Duration timeout) {
+        return reserveGuard.protect(productServiceWebClient.put()
                 .uri("/api/products/" + productId + "/reserve")
+                .header(RequestDeadline.HEADER, String.valueOf(timeout.toMillis()))
                 .bodyValue(new ProductAvailabilityRequest(false))
                 .retrieve()
-                .bodyToMono(ProductResponseDTO.class)
-                .block();
+                .bodyToMono(ProductResponseDTO.class), timeout);
     }
 
-    public void releaseProduct(String productId) {
-        productServiceWebClient.put()
+    private Mono<ProductResponseDTO> release(String productId, Duration timeout) {
+        return releaseGuard.protect(productServiceWebClient.put()
                 .uri("/api/products/" + productId + "/release")
+                .header(RequestDeadline.HEADER, String.valueOf(timeout.toMillis()))
                 .bodyValue(new ProductAvailabilityRequest(true))
                 .retrieve()
-                .bodyToMono(ProductResponseDTO.class)
-                .block();
+                .bodyToMono(ProductResponseDTO.class), timeout);
+    }
+
+    private Duration timeout(Guard guard) {
+        Duration remaining = RequestDeadline.remaining().orElse(callTimeout);
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new DownstreamUnavailableException("Request deadline exceeded before calling " + guard.name);
+        }
+        return remaining.compareTo(callTimeout) < 0 ? remaining : callTimeout;
+    }
+
+    private <T> T await(Guard guard, Mono<T> call) {
+        try {
+            return call.block();
+        } catch (RuntimeException e) {
+            throw translate(guard, e);
+        }
+    }
+
+    private RuntimeException translate(Guard guard, Throwable error) {
+        Throwable e = Exceptions.unwrap(error);
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            return new DownstreamUnavailableException(guard.name + " is not accepting calls: " + e.getMessage(), e);
+        }
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError()) {
+            return new DownstreamUnavailableException(guard.name + " failed with " + response.getStatusCode(), e);
+        }
+        if (e instanceof WebClientRequestException) {
+            return new DownstreamUnavailableException(guard.name + " is unreachable", e);
+        }
+        if (e instanceof TimeoutException) {
+            return new DownstreamUnavailableException(guard.name + " timed out", e);
+        }
+        return e instanceof RuntimeException runtime ? runtime : Exceptions.propagate(e);
+    }
+
+    /**
+     * Outcome of {@link #getProducts(Collection, int)}: the products found and the failure for every id
+     * whose lookup could not be completed.
+     */
+    public record ProductLookup(Map<String, ProductResponseDTO> products, Map<String, RuntimeException> failures) {
+    }
+
+    private static final class Guard {
+        private final String name;
+        private final String operation;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final MeterRegistry meterRegistry;
+
+        Guard(String operation, CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+              MeterRegistry meterRegistry) {
+            this.name = "product-service." + operation;
+            this.operation = operation;
+            this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+            this.bulkhead = bulkheadRegistry.bulkhead(name);
+            this.meterRegistry = meterRegistry;
+        }
+
+        // Bulkhead innermost so a rejected call is not counted by the breaker; the timeout sits inside
+        // the breaker so slow calls count as failures
+        <T> Mono<T> protect(Mono<T> call, Duration timeout) {
+            Mono<T> guarded = call.transformDeferred(BulkheadOperator.of(bulkhead))
+                    .timeout(timeout)
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                return guarded
+                        .doOnSuccess(result -> record(sample, "success"))
+                        .doOnError(e -> record(sample, outcome(e)))
+                        .doOnCancel(() -> record(sample, "cancelled"));
+            });
+        }
+
+        private void record(Timer.Sample sample, String outcome) {
+            sample.stop(Timer.builder(CLIENT_REQUESTS_METRIC)
+                    .description("Calls to downstream services by operation and outcome")
+                    .tags("client", "product-service", "operation", operation, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        private static String outcome(Throwable error) {
+            Throwable e = Exceptions.unwrap(error);
+            if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+                return "rejected";
+            }
+            if (e instanceof TimeoutException) {
+                return "timeout";
+            }
+            if (e instanceof WebClientResponseException response) {
+                return response.getStatusCode().is4xxClientError() ? "client_error" : "server_error";
+            }
+            return "error";
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.artztall.order_service.benchmark;
+
+import com.artztall.order_service.config.ResilienceProperties;
+import com.artztall.order_service.dto.ProductResponseDTO;
+import com.artztall.order_service.service.ProductClientService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the blocking product-service path of createOrder (getProduct + reserveProduct) on a
+ * Tomcat-sized platform thread pool against virtual threads while product-service latency is
+ * injected by a local stub. Latency is measured from submission, so queueing for a free request
+ * thread is included, as it is behind Tomcat.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.artztall.order_service.benchmark.VirtualThreadBenchmark \
+ *     -Dexec.args="50 5000"   # injected latency (ms), requests per mode
+ * </pre>
+ */
+public class VirtualThreadBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final String PRODUCT_JSON =
+            "{\"id\":\"product123\",\"name\":\"Bench Product\",\"price\":100.0,\"stockQuantity\":10,\"available\":true}";
+
+    public static void main(String[] args) throws Exception {
+        long latencyMs = args.length > 0 ? Long.parseLong(args[0]) : 50;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        DisposableServer productStub = startProductStub(latencyMs);
+        try {
+            ProductClientService client = productClient("http://localhost:" + productStub.port());
+
+            // Warm up connections and JIT before measuring
+            run("warmup", Executors.newVirtualThreadPerTaskExecutor(), client, 500);
+
+            System.out.printf("product-service latency %d ms, %d requests per mode%n", latencyMs, requests);
+            run("platform-" + TOMCAT_MAX_THREADS, Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), client, requests);
+            run("virtual", Executors.newVirtualThreadPerTaskExecutor(), client, requests);
+        } finally {
+            productStub.disposeNow();
+        }
+    }
+
+    private static void run(String mode, ExecutorService executor, ProductClientService client, int requests)
+            throws Exception {
+        long[] latencies = new long[requests];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int slot = i;
+            long submitted = System.nanoTime();
+            futures[i] = CompletableFuture.runAsync(() -> {
+                ProductResponseDTO product = client.getProduct("product123");
+                client.reserveProduct(product.getId());
+                latencies[slot] = System.nanoTime() - submitted;
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).get(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        if (!"warmup".equals(mode)) {
+            Arrays.sort(latencies);
+            System.out.printf("%-14s throughput %8.1f req/s   p50 %7.1f ms   p99 %7.1f ms%n",
+                    mode,
+                    requests / (elapsed / 1e9),
+                    latencies[(int) (requests * 0.50)] / 1e6,
+                    latencies[(int) (requests * 0.99)] / 1e6);
+        }
+    }
+
+    private static ProductClientService productClient(String baseUrl) {
+        ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(1000)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+        // A zero-sized cache so every call reaches the stub, and guards wide enough to never reject
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getProductService().setCallTimeout(Duration.ofMinutes(1));
+        return new ProductClientService(webClient, Caffeine.newBuilder().maximumSize(0).build(),
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(Integer.MAX_VALUE).build()),
+                properties, new SimpleMeterRegistry());
+    }
+
+    private static DisposableServer startProductStub(long latencyMs) {
+        Duration latency = Duration.ofMillis(latencyMs);
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/products/{id}", (request, response) -> respond(response, latency))
+                        .put("/api/products/{id}/{action}", (request, response) ->
+                                request.receive().then().then(respond(response, latency))))
+                .bindNow();
+    }
+
+    private static Mono<Void> respond(HttpServerResponse response, Duration latency) {
+        return Mono.delay(latency)
+                .then(response.header("Content-Type", "application/json").sendString(Mono.just(PRODUCT_JSON)).then());
+    }
+}
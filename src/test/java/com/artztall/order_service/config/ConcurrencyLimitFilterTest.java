@@ -0,0 +1,126 @@
+package com.artztall.order_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void doFilter_CallerOverItsRate_Gets429WithRetryAfter() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setUserRate(1);
+        properties.setUserBurst(2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry, clock::get);
+
+        assertEquals(200, send(filter, "user1").getStatus());
+        assertEquals(200, send(filter, "user1").getStatus());
+        MockHttpServletResponse rejected = send(filter, "user1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        // Other callers keep their own budget
+        assertEquals(200, send(filter, "user2").getStatus());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, send(filter, "user1").getStatus());
+        assertEquals(1.0, meterRegistry.get("orders.concurrency.rejected").tag("reason", "user-rate").counter().count());
+    }
+
+    @Test
+    void doFilter_AtConcurrencyLimit_Gets503() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry, clock::get);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // The second request arrives while the first still holds the only slot
+        FilterChain holdingChain = (request, response) -> filter.doFilter(orderRequest("user2"), nested, new MockFilterChain());
+        filter.doFilter(orderRequest("user1"), new MockHttpServletResponse(), holdingChain);
+
+        assertEquals(503, nested.getStatus());
+        assertEquals("1", nested.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(0.0, meterRegistry.get("orders.concurrency.in-flight").gauge().value());
+        assertEquals(200, send(filter, "user2").getStatus());
+    }
+
+    @Test
+    void doFilter_WithoutUserHeader_OnlyTheAdaptiveLimitApplies() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setUserRate(1);
+        properties.setUserBurst(2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry, clock::get);
+
+        // Many users behind one gateway address must not share a bucket
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send(filter, null).getStatus());
+        }
+        assertEquals(0.0, meterRegistry.get("orders.concurrency.rejected").tag("reason", "user-rate").counter().count());
+    }
+
+    @Test
+    void shouldNotFilter_SkipsEventStreamsAndExports() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(), meterRegistry);
+
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/orders/order1/events")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/orders/export")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/orders")));
+        assertNull(ConcurrencyLimitFilter.userOf(new MockHttpServletRequest("GET", "/api/orders/user/user7/summaries")));
+    }
+
+    @Test
+    void limiter_ShrinksWhenLatencyRisesAndGrowsWhenItRecovers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, 0.2, 1.5);
+        for (int i = 0; i < 200; i++) {
+            complete(limiter, 100, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int healthy = limiter.limit();
+        assertTrue(healthy > 100);
+
+        for (int i = 0; i < 50; i++) {
+            complete(limiter, limiter.limit(), TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        int overloaded = limiter.limit();
+        assertTrue(overloaded < healthy / 2);
+
+        for (int i = 0; i < 200; i++) {
+            complete(limiter, limiter.limit(), TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertTrue(limiter.limit() > overloaded);
+    }
+
+    // Fills the limiter to the given concurrency and completes one request with the given latency
+    private static void complete(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttNanos) {
+        while (limiter.inFlight() < concurrency && limiter.tryAcquire()) {
+            // Claim slots
+        }
+        limiter.release(rttNanos);
+    }
+
+    private static MockHttpServletResponse send(ConcurrencyLimitFilter filter, String userId) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(orderRequest(userId), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest orderRequest(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        if (userId != null) {
+            request.addHeader(ConcurrencyLimitFilter.USER_HEADER, userId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package com.artztall.order_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LatencyAwareLoadBalancerTest {
+
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", "product-service", "fast-host", 8082, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", "product-service", "slow-host", 8082, false);
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(null);
+
+    @Test
+    void choose_PrefersLowerLatencyInstance() {
+        recordCall(fast, 5_000_000L);
+        recordCall(slow, 500_000_000L);
+
+        for (int i = 0; i < 20; i++) {
+            Response<ServiceInstance> response = loadBalancer.choose(List.of(fast, slow));
+            assertEquals("fast", response.getServer().getInstanceId());
+        }
+    }
+
+    @Test
+    void choose_NoInstances_ReturnsEmptyResponse() {
+        assertFalse(loadBalancer.choose(List.of()).hasServer());
+    }
+
+    @Test
+    void choose_UnmeasuredInstanceIsProbed() {
+        recordCall(slow, 500_000_000L);
+
+        Response<ServiceInstance> response = loadBalancer.choose(List.of(fast, slow));
+
+        assertEquals("fast", response.getServer().getInstanceId());
+    }
+
+    private void recordCall(ServiceInstance instance, long elapsedNanos) {
+        DefaultRequest<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext(mock(RequestData.class)));
+        DefaultResponse lbResponse = new DefaultResponse(instance);
+        loadBalancer.onStartRequest(request, lbResponse);
+        request.getContext().setRequestStartTime(System.nanoTime() - elapsedNanos);
+        loadBalancer.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+                CompletionContext.Status.SUCCESS, request, lbResponse));
+    }
+}
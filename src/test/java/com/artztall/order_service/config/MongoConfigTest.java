@@ -0,0 +1,142 @@
+package com.artztall.order_service.config;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderItem;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.artztall.order_service.model.ProductDimensions;
+import com.artztall.order_service.repository.LegacyOrderDocuments;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+class MongoConfigTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoConfig config = new MongoConfig();
+        MongoCustomConversions conversions = config.mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+        when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+        converter = config.mappingMongoConverter(factory, context, conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void write_UsesCompactLayout() {
+        Document document = new Document();
+        converter.write(order(), document);
+
+        assertFalse(document.containsKey("_class"));
+        assertEquals("user-1", document.get("u"));
+        assertEquals("P", document.get("s"));
+        assertEquals("C", document.get("p"));
+        assertEquals(new Decimal128(new BigDecimal("250.00")), document.get("t"));
+        Document item = document.get("i", Document.class);
+        assertFalse(item.containsKey("_class"));
+        assertEquals("artist-1", item.get("a"));
+        assertEquals(new Decimal128(new BigDecimal("125.00")), item.get("pr"));
+        assertEquals("cm", item.get("d", Document.class).get("u"));
+        assertInstanceOf(Date.class, document.get("c"));
+    }
+
+    @Test
+    void read_RoundTripsOrder() {
+        Order order = order();
+        Document document = new Document();
+        converter.write(order, document);
+
+        assertEquals(order, converter.read(Order.class, document));
+    }
+
+    @Test
+    void queries_MapPropertyNamesAndStatusCodes() {
+        MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(Order.class);
+        Document mapped = new QueryMapper(converter).getMappedObject(
+                query(where("item.artistId").is("artist-1")
+                        .and("status").in(Set.of(OrderStatus.PENDING))
+                        .and("paymentStatus").is(PaymentStatus.COMPLETED)).getQueryObject(),
+                entity);
+
+        assertEquals("artist-1", mapped.get("i.a"));
+        assertEquals(List.of("P"), mapped.get("s", Document.class).getList("$in", String.class));
+        assertEquals("C", mapped.get("p"));
+    }
+
+    @Test
+    void legacyDocument_UpgradesToSameOrder() {
+        Order order = order();
+        Date createdAt = new Date();
+        Document legacy = new Document("_id", new ObjectId(order.getId()))
+                .append("userId", "user-1")
+                .append("item", new Document("productId", "product-1")
+                        .append("productName", "Sunset")
+                        .append("artistId", "artist-1")
+                        .append("quantity", 2)
+                        .append("price", "125.00")
+                        .append("subtotal", "250.00")
+                        .append("dimensions", new Document("length", 60.0).append("width", 40.0).append("unit", "cm")))
+                .append("totalAmount", "250.00")
+                .append("status", "PENDING")
+                .append("paymentStatus", "COMPLETED")
+                .append("shippingAddress", "12 Gallery Road")
+                .append("createdAt", createdAt)
+                .append("version", 3L)
+                .append("_class", "com.artztall.order_service.model.Order");
+
+        assertTrue(LegacyOrderDocuments.isLegacy(legacy));
+        Document compact = LegacyOrderDocuments.toCompact(legacy);
+        assertFalse(LegacyOrderDocuments.isLegacy(compact));
+        assertFalse(compact.containsKey("_class"));
+        assertEquals(createdAt, compact.get("c"));
+
+        Order upgraded = converter.read(Order.class, compact);
+        assertEquals(order.getItem(), upgraded.getItem());
+        assertEquals(OrderStatus.PENDING, upgraded.getStatus());
+        assertEquals(PaymentStatus.COMPLETED, upgraded.getPaymentStatus());
+        assertEquals(new BigDecimal("250.00"), upgraded.getTotalAmount());
+        assertEquals(3L, upgraded.getVersion());
+    }
+
+    private static Order order() {
+        OrderItem item = new OrderItem("product-1", "Sunset", "artist-1", 2, new BigDecimal("125.00"),
+                new BigDecimal("250.00"), null, new ProductDimensions(60.0, 40.0, "cm"), null, null);
+        Order order = new Order();
+        order.setId(new ObjectId().toHexString());
+        order.setUserId("user-1");
+        order.setItem(item);
+        order.setTotalAmount(new BigDecimal("250.00"));
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+        order.setShippingAddress("12 Gallery Road");
+        order.setCreatedAt(LocalDateTime.of(2024, 11, 1, 10, 0));
+        order.setVersion(3L);
+        return order;
+    }
+}
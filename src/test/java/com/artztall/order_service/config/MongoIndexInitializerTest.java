@@ -0,0 +1,33 @@
+package com.artztall.order_service.config;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoIndexInitializerTest {
+
+    @Test
+    void containsStage_FindsNestedCollectionScan() {
+        Document winningPlan = new Document("stage", "SHARD_MERGE").append("shards", List.of(
+                new Document("shardName", "a").append("winningPlan",
+                        new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"))),
+                new Document("shardName", "b").append("winningPlan",
+                        new Document("stage", "SORT").append("inputStage", new Document("stage", "COLLSCAN")))));
+
+        assertTrue(MongoIndexInitializer.containsStage(winningPlan, "COLLSCAN"));
+    }
+
+    @Test
+    void containsStage_IgnoresRejectedPlans() {
+        Document shardPlan = new Document("winningPlan",
+                new Document("stage", "LIMIT").append("inputStage",
+                        new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"))))
+                .append("rejectedPlans", List.of(new Document("stage", "COLLSCAN")));
+
+        assertFalse(MongoIndexInitializer.containsStage(shardPlan, "COLLSCAN"));
+        assertTrue(MongoIndexInitializer.containsStage(shardPlan, "IXSCAN"));
+    }
+}
@@ -3,9 +3,23 @@ package com.artztall.order_service.controller;
 
 
 import com.artztall.order_service.dto.OrderCreateDTO;
+import com.artztall.order_service.dto.OrderExportFormat;
 import com.artztall.order_service.dto.OrderItemDTO;
+import com.artztall.order_service.dto.OrderBatchItemResultDTO;
+import com.artztall.order_service.dto.OrderBatchResultDTO;
+import com.artztall.order_service.dto.OrderPageDTO;
+import com.artztall.order_service.dto.OrderStatusBatchItemResultDTO;
+import com.artztall.order_service.dto.OrderStatusBatchResultDTO;
+import com.artztall.order_service.dto.OrderStatusEventDTO;
+import com.artztall.order_service.dto.OrderStatusUpdateDTO;
+import com.artztall.order_service.dto.OrderSummaryDTO;
+import com.artztall.order_service.dto.OrderSummaryPageDTO;
 import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.exception.InvalidExportRangeException;
 import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.service.IdempotencyService;
+import com.artztall.order_service.service.OrderEventHub;
+import com.artztall.order_service.service.OrderExportService;
 import com.artztall.order_service.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,14 +27,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +56,15 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private OrderEventHub orderEventHub;
+
+    @Mock
+    private OrderExportService orderExportService;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -56,10 +92,10 @@ class OrderControllerTest {
     @Test
     void createOrder_ShouldReturnCreatedOrder() {
         // Arrange
-        when(orderService.createOrder(orderCreateDTO)).thenReturn(orderResponseDTO);
+        when(orderService.createOrder(orderCreateDTO)).thenReturn(CompletableFuture.completedFuture(orderResponseDTO));
 
         // Act
-        ResponseEntity<OrderResponseDTO> response = orderController.createOrder(orderCreateDTO);
+        ResponseEntity<OrderResponseDTO> response = orderController.createOrder(null, orderCreateDTO).join();
 
         // Assert
         assertNotNull(response);
@@ -68,6 +104,38 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrder(orderCreateDTO);
     }
 
+    @Test
+    void createOrder_WithIdempotencyKey_ShouldReturnStoredOrderOnReplay() {
+        // Arrange
+        when(idempotencyService.createOrder(eq("key-1"), eq(orderCreateDTO), any()))
+                .thenReturn(CompletableFuture.completedFuture(new IdempotencyService.Outcome(orderResponseDTO, true)));
+
+        // Act
+        ResponseEntity<OrderResponseDTO> response = orderController.createOrder("key-1", orderCreateDTO).join();
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(orderResponseDTO, response.getBody());
+        assertEquals("true", response.getHeaders().getFirst("Idempotent-Replayed"));
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void createOrders_ShouldReturnPerOrderResults() {
+        // Arrange
+        OrderBatchResultDTO batchResult = new OrderBatchResultDTO(1, 0,
+                List.of(OrderBatchItemResultDTO.created(0, orderResponseDTO)));
+        when(orderService.createOrders(List.of(orderCreateDTO))).thenReturn(batchResult);
+
+        // Act
+        ResponseEntity<OrderBatchResultDTO> response = orderController.createOrders(List.of(orderCreateDTO));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(batchResult, response.getBody());
+        verify(orderService, times(1)).createOrders(List.of(orderCreateDTO));
+    }
+
     @Test
     void getOrder_ExistingOrderId_ShouldReturnOrder() {
         // Arrange
@@ -75,15 +143,55 @@ class OrderControllerTest {
         when(orderService.getOrder(orderId)).thenReturn(orderResponseDTO);
 
         // Act
-        ResponseEntity<OrderResponseDTO> response = orderController.getOrder(orderId);
+        ResponseEntity<OrderResponseDTO> response = orderController.getOrder(orderId, getRequest(null));
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(orderResponseDTO, response.getBody());
+        assertEquals("\"order123-0\"", response.getHeaders().getETag());
         verify(orderService, times(1)).getOrder(orderId);
     }
 
+    @Test
+    void getOrder_MatchingIfNoneMatch_ShouldReturnNotModified() {
+        orderResponseDTO.setVersion(3L);
+        when(orderService.getOrder("order123")).thenReturn(orderResponseDTO);
+
+        ResponseEntity<OrderResponseDTO> response = orderController.getOrder("order123", getRequest("\"order123-3\""));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void getOrder_StaleIfNoneMatch_ShouldReturnOrder() {
+        orderResponseDTO.setVersion(4L);
+        when(orderService.getOrder("order123")).thenReturn(orderResponseDTO);
+
+        ResponseEntity<OrderResponseDTO> response = orderController.getOrder("order123", getRequest("\"order123-3\""));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"order123-4\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void getOrderSummary_MatchingIfNoneMatch_ShouldReturnNotModified() {
+        OrderSummaryDTO summary = new OrderSummaryDTO();
+        summary.setId("order123");
+        summary.setVersion(3L);
+        when(orderService.getOrderSummary("order123")).thenReturn(summary);
+
+        ResponseEntity<OrderSummaryDTO> response = orderController.getOrderSummary("order123", getRequest(null));
+        ResponseEntity<OrderSummaryDTO> repeated = orderController.getOrderSummary("order123", getRequest("\"order123-3\""));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summary, response.getBody());
+        assertEquals("\"order123-3\"", response.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, repeated.getStatusCode());
+        verify(orderService, never()).getOrder(anyString());
+    }
+
     @Test
     void getUserOrders_ShouldReturnUserOrders() {
         // Arrange
@@ -92,13 +200,17 @@ class OrderControllerTest {
         when(orderService.getUserOrders(userId)).thenReturn(userOrders);
 
         // Act
-        ResponseEntity<List<OrderResponseDTO>> response = orderController.getUserOrders(userId);
+        ResponseEntity<List<OrderResponseDTO>> response = orderController.getUserOrders(userId, getRequest(null));
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(userOrders, response.getBody());
         verify(orderService, times(1)).getUserOrders(userId);
+
+        ResponseEntity<List<OrderResponseDTO>> repeated =
+                orderController.getUserOrders(userId, getRequest(response.getHeaders().getETag()));
+        assertEquals(HttpStatus.NOT_MODIFIED, repeated.getStatusCode());
     }
 
     @Test
@@ -106,16 +218,33 @@ class OrderControllerTest {
         // Arrange
         String orderId = "order123";
         OrderStatus newStatus = OrderStatus.PROCESSING;
-        when(orderService.updateOrderStatus(orderId, newStatus)).thenReturn(orderResponseDTO);
+        when(orderService.updateOrderStatus(orderId, newStatus, null)).thenReturn(orderResponseDTO);
 
         // Act
-        ResponseEntity<OrderResponseDTO> response = orderController.updateOrderStatus(orderId, newStatus);
+        ResponseEntity<OrderResponseDTO> response = orderController.updateOrderStatus(orderId, newStatus, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(orderResponseDTO, response.getBody());
-        verify(orderService, times(1)).updateOrderStatus(orderId, newStatus);
+        verify(orderService, times(1)).updateOrderStatus(orderId, newStatus, null);
+    }
+
+    @Test
+    void updateOrderStatuses_ShouldReturnPerOrderResults() {
+        // Arrange
+        List<OrderStatusUpdateDTO> updates = List.of(new OrderStatusUpdateDTO("order123", OrderStatus.SHIPPED, 2L));
+        OrderStatusBatchResultDTO batchResult = new OrderStatusBatchResultDTO(1, 0,
+                List.of(OrderStatusBatchItemResultDTO.updated(0, orderResponseDTO)));
+        when(orderService.updateOrderStatuses(updates)).thenReturn(batchResult);
+
+        // Act
+        ResponseEntity<OrderStatusBatchResultDTO> response = orderController.updateOrderStatuses(updates);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(batchResult, response.getBody());
+        verify(orderService, times(1)).updateOrderStatuses(updates);
     }
 
     @Test
@@ -149,4 +278,97 @@ class OrderControllerTest {
         assertEquals(artisanOrders, response.getBody());
         verify(orderService, times(1)).getOrdersByArtisan(artisanId);
     }
+
+    @Test
+    void getUserOrdersPage_ShouldReturnPage() {
+        // Arrange
+        String userId = "user123";
+        OrderPageDTO page = new OrderPageDTO(List.of(orderResponseDTO), "next");
+        when(orderService.getUserOrdersPage(userId, null, 20)).thenReturn(page);
+
+        // Act
+        ResponseEntity<OrderPageDTO> response = orderController.getUserOrdersPage(userId, null, 20);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(orderService, times(1)).getUserOrdersPage(userId, null, 20);
+    }
+
+    @Test
+    void getUserOrderSummaries_ShouldReturnSummaryPage() {
+        // Arrange
+        String userId = "user123";
+        OrderSummaryPageDTO page = new OrderSummaryPageDTO(List.of(new OrderSummaryDTO()), null);
+        when(orderService.getUserOrderSummaries(userId, "cursor", 10)).thenReturn(page);
+
+        // Act
+        ResponseEntity<OrderSummaryPageDTO> response = orderController.getUserOrderSummaries(userId, "cursor", 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(orderService, times(1)).getUserOrderSummaries(userId, "cursor", 10);
+    }
+
+    @Test
+    void streamOrderEvents_StartsWithCurrentStatus() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(orderService.getOrder("order123")).thenReturn(orderResponseDTO);
+        when(orderEventHub.subscribeToOrder(any(OrderStatusEventDTO.class))).thenReturn(emitter);
+
+        // Act
+        SseEmitter response = orderController.streamOrderEvents("order123");
+
+        // Assert
+        assertSame(emitter, response);
+        verify(orderEventHub).subscribeToOrder(argThat(event -> "order123".equals(event.getOrderId())
+                && "user123".equals(event.getUserId()) && event.getStatus() == OrderStatus.PENDING));
+    }
+
+    @Test
+    void exportOrders_GzipsWhenAccepted() throws Exception {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(orderExportService.export(eq(from), eq(to), eq(OrderStatus.CONFIRMED), eq("artist1"),
+                eq(OrderExportFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(5, OutputStream.class).write("id\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        // Act
+        orderController.exportOrders(from, to, OrderStatus.CONFIRMED, "artist1", OrderExportFormat.CSV,
+                "gzip, deflate", response);
+
+        // Assert
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("orders.csv"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals("id\n", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportOrders_RejectsEmptyRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        // Act & Assert
+        assertThrows(InvalidExportRangeException.class, () -> orderController.exportOrders(from, from, null, null,
+                OrderExportFormat.NDJSON, null, new MockHttpServletResponse()));
+        verifyNoInteractions(orderExportService);
+    }
+
+    private static ServletWebRequest getRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
@@ -0,0 +1,138 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderItem;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AbandonedOrderSweeperTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private ProductClientService productClientService;
+
+    @Mock
+    private NotificationClientService notificationClientService;
+
+    @Mock
+    private ArtisanSalesService artisanSalesService;
+
+    @Mock
+    private OrderReadCache orderReadCache;
+
+    @Mock
+    private OrderSchemaMigration orderSchemaMigration;
+
+    private AbandonedOrderSweeper sweeper;
+    private Order abandonedOrder;
+
+    @BeforeEach
+    public void setUp() {
+        sweeper = new AbandonedOrderSweeper(mongoTemplate, leaseService, productClientService,
+                notificationClientService, artisanSalesService, orderReadCache, orderSchemaMigration, TransactionOperations.withoutTransaction(),
+                new SimpleMeterRegistry(),
+                Duration.ofMinutes(15), 2, 2, Duration.ofMinutes(5));
+
+        abandonedOrder = new Order();
+        abandonedOrder.setId("order123");
+        abandonedOrder.setUserId("user123");
+        abandonedOrder.setItem(new OrderItem());
+        abandonedOrder.getItem().setProductId("product123");
+        abandonedOrder.setCreatedAt(LocalDateTime.now().minusMinutes(20));
+    }
+
+    @Test
+    public void releaseAbandonedOrders_Success() {
+        when(leaseService.tryAcquire(eq(AbandonedOrderSweeper.LEASE_NAME), any())).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(abandonedOrder));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        sweeper.releaseAbandonedOrders();
+
+        assertEquals(OrderStatus.EXPIRED, abandonedOrder.getStatus());
+        assertEquals(PaymentStatus.FAILED, abandonedOrder.getPaymentStatus());
+        verify(productClientService).releaseProducts(List.of("product123"), 2);
+        verify(artisanSalesService).recordStatusChanges(List.of(abandonedOrder), OrderStatus.PENDING, PaymentStatus.PENDING);
+        verify(notificationClientService).sendNotifications(anyList());
+        verify(leaseService).release(AbandonedOrderSweeper.LEASE_NAME);
+        // Unmigrated PENDING orders are rewritten before the scan so it finds them
+        InOrder inOrder = inOrder(orderSchemaMigration, mongoTemplate);
+        inOrder.verify(orderSchemaMigration).migrateMatching(any());
+        inOrder.verify(mongoTemplate).find(any(Query.class), eq(Order.class));
+    }
+
+    @Test
+    public void releaseAbandonedOrders_ConfirmedMeanwhile_NotReleased() {
+        when(leaseService.tryAcquire(eq(AbandonedOrderSweeper.LEASE_NAME), any())).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(List.of(abandonedOrder))
+                .thenReturn(List.of());
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        sweeper.releaseAbandonedOrders();
+
+        verify(productClientService, never()).releaseProducts(anyList(), anyInt());
+        verify(notificationClientService, never()).sendNotifications(anyList());
+    }
+
+    @Test
+    public void releaseAbandonedOrders_LeaseLostMidSweep_StopsAfterChunk() {
+        Order second = new Order();
+        second.setId("order456");
+        second.setItem(new OrderItem());
+        second.getItem().setProductId("product456");
+        when(leaseService.tryAcquire(eq(AbandonedOrderSweeper.LEASE_NAME), any()))
+                .thenReturn(true)
+                .thenReturn(false);
+        when(mongoTemplate.find(any(Query.class), eq(Order.class))).thenReturn(List.of(abandonedOrder, second));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+
+        sweeper.releaseAbandonedOrders();
+
+        // A full chunk would normally be followed by another scan
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Order.class));
+        verify(productClientService).releaseProducts(List.of("product123", "product456"), 2);
+    }
+
+    @Test
+    public void releaseAbandonedOrders_LeaseHeldElsewhere_Skips() {
+        when(leaseService.tryAcquire(eq(AbandonedOrderSweeper.LEASE_NAME), any())).thenReturn(false);
+
+        sweeper.releaseAbandonedOrders();
+
+        verifyNoInteractions(mongoTemplate, productClientService, notificationClientService);
+        verify(leaseService, never()).release(anyString());
+    }
+}
@@ -0,0 +1,179 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.ArtisanSalesSummaryDTO;
+import com.artztall.order_service.model.ArtisanSalesSummary;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderItem;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.artztall.order_service.repository.ArtisanSalesSummaryRepository;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArtisanSalesServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ArtisanSalesSummaryRepository artisanSalesSummaryRepository;
+
+    @Mock
+    private OrderSchemaMigration orderSchemaMigration;
+
+    @InjectMocks
+    private ArtisanSalesService artisanSalesService;
+
+    private Order order;
+
+    @BeforeEach
+    public void setUp() {
+        order = new Order();
+        order.setId("order123");
+        order.setItem(new OrderItem());
+        order.getItem().setArtistId("artist123");
+        order.setTotalAmount(BigDecimal.valueOf(250));
+    }
+
+    @Test
+    public void recordStatusChange_PaymentCompleted_IncrementsRevenue() {
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+
+        artisanSalesService.recordStatusChange(order, OrderStatus.PENDING, PaymentStatus.PENDING);
+
+        Document inc = capturedIncrements();
+        assertEquals(-1L, inc.get("statusCounts.PENDING"));
+        assertEquals(1L, inc.get("statusCounts.CONFIRMED"));
+        assertEquals(1L, inc.get("completedOrders"));
+        assertEquals(new Decimal128(BigDecimal.valueOf(250)), inc.get("revenue"));
+    }
+
+    @Test
+    public void recordStatusChange_AfterPayment_OnlyMovesStatusCounts() {
+        order.setStatus(OrderStatus.SHIPPED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+
+        artisanSalesService.recordStatusChange(order, OrderStatus.PROCESSING, PaymentStatus.COMPLETED);
+
+        Document inc = capturedIncrements();
+        assertEquals(-1L, inc.get("statusCounts.PROCESSING"));
+        assertEquals(1L, inc.get("statusCounts.SHIPPED"));
+        assertFalse(inc.containsKey("completedOrders"));
+        assertFalse(inc.containsKey("revenue"));
+    }
+
+    @Test
+    public void recordStatusChange_NoChange_SkipsWrite() {
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+
+        artisanSalesService.recordStatusChange(order, OrderStatus.PENDING, PaymentStatus.PENDING);
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void recordStatusChange_SkipsSummaryRebuiltAfterTheChange() {
+        LocalDateTime changedAt = LocalDateTime.of(2024, 11, 1, 10, 0);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+        order.setUpdatedAt(changedAt);
+
+        artisanSalesService.recordStatusChange(order, OrderStatus.PENDING, PaymentStatus.PENDING);
+
+        ArgumentCaptor<Query> summary = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(summary.capture(), any(Update.class), eq(ArtisanSalesSummary.class));
+        List<?> counted = summary.getValue().getQueryObject().get("$or", List.class);
+        assertEquals(new Document("countedAt", new Document("$exists", false)), counted.get(0));
+        assertEquals(new Document("countedAt", new Document("$lte", changedAt)), counted.get(1));
+    }
+
+    @Test
+    public void getSummary_Missing_MigratesArtistOrdersBeforeCounting() {
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+        when(artisanSalesSummaryRepository.findById("artist123")).thenReturn(Optional.empty());
+        when(mongoTemplate.stream(any(Query.class), eq(Order.class))).thenReturn(Stream.of(order));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ArtisanSalesSummary.class)))
+                .thenAnswer(invocation -> built(invocation.getArgument(1)));
+
+        ArtisanSalesSummaryDTO summary = artisanSalesService.getSummary("artist123");
+
+        assertEquals(1L, summary.getCompletedOrders());
+        ArgumentCaptor<Update> totals = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), totals.capture(), any(FindAndModifyOptions.class), eq(ArtisanSalesSummary.class));
+        assertInstanceOf(LocalDateTime.class, totals.getValue().getUpdateObject().get("$set", Document.class).get("countedAt"));
+        InOrder inOrder = inOrder(artisanSalesSummaryRepository, orderSchemaMigration, mongoTemplate);
+        inOrder.verify(artisanSalesSummaryRepository).insert(argThat((ArtisanSalesSummary claim) -> claim.isBuilding()));
+        inOrder.verify(orderSchemaMigration).migrateMatching(Filters.eq("item.artistId", "artist123"));
+        inOrder.verify(mongoTemplate).stream(any(Query.class), eq(Order.class));
+    }
+
+    @Test
+    public void getSummary_ChangedWhileCounting_RecountsAgainstNewVersion() {
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+        ArtisanSalesSummary claimed = new ArtisanSalesSummary();
+        claimed.setId("artist123");
+        claimed.setBuilding(true);
+        claimed.setVersion(1);
+        when(artisanSalesSummaryRepository.findById("artist123"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(claimed));
+        when(mongoTemplate.stream(any(Query.class), eq(Order.class))).thenAnswer(invocation -> Stream.of(order));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ArtisanSalesSummary.class)))
+                .thenReturn(null)
+                .thenAnswer(invocation -> built(invocation.getArgument(1)));
+
+        ArtisanSalesSummaryDTO summary = artisanSalesService.getSummary("artist123");
+
+        assertEquals(1L, summary.getCompletedOrders());
+        ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findAndModify(guard.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(ArtisanSalesSummary.class));
+        assertEquals(0L, guard.getAllValues().get(0).getQueryObject().get("version"));
+        assertEquals(1L, guard.getAllValues().get(1).getQueryObject().get("version"));
+        verify(mongoTemplate, times(2)).stream(any(Query.class), eq(Order.class));
+    }
+
+    private static ArtisanSalesSummary built(Update totals) {
+        Document set = totals.getUpdateObject().get("$set", Document.class);
+        ArtisanSalesSummary summary = new ArtisanSalesSummary();
+        summary.setId("artist123");
+        summary.setCompletedOrders((Long) set.get("completedOrders"));
+        return summary;
+    }
+
+    private Document capturedIncrements() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(ArtisanSalesSummary.class));
+        return update.getValue().getUpdateObject().get("$inc", Document.class);
+    }
+}
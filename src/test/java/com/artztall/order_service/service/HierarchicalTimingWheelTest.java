@@ -0,0 +1,69 @@
+package com.artztall.order_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    public void advance_FiresAtTheEndOfTheDeadlineTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, 0);
+        wheel.schedule("order1", 250);
+
+        assertEquals(List.of(), wheel.advance(299));
+        assertEquals(List.of("order1"), wheel.advance(300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void advance_CascadesDeadlinesFromOverflowWheels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 4, 0);
+        // Beyond the 4 s root wheel and the 16 s first overflow wheel
+        wheel.schedule("order1", 900_500);
+
+        assertEquals(List.of(), wheel.advance(900_999));
+        assertEquals(List.of("order1"), wheel.advance(901_000));
+    }
+
+    @Test
+    public void cancelledAndRescheduledOrders_FireOnlyAtTheirCurrentDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 16, 0);
+        wheel.schedule("confirmed", 50);
+        wheel.schedule("moved", 50);
+        assertTrue(wheel.cancel("confirmed"));
+        wheel.schedule("moved", 5_000);
+
+        assertEquals(List.of(), wheel.advance(1_000));
+        assertEquals(List.of("moved"), wheel.advance(5_010));
+        assertFalse(wheel.cancel("moved"));
+    }
+
+    @Test
+    public void advance_RandomDeadlines_NeverEarlyAndAtMostOneTickLate() {
+        long tick = 7;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(tick, 8, 3);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 3 + random.nextInt(200_000);
+            deadlines.add(deadline);
+            wheel.schedule((long) i, deadline);
+        }
+
+        int fired = 0;
+        for (long now = 3; now <= 200_020; now += 1 + random.nextInt(5)) {
+            for (long key : wheel.advance(now)) {
+                long deadline = deadlines.get((int) key);
+                assertTrue(now > deadline, "fired early");
+                assertTrue(now - deadline <= tick + 5, "fired late");
+                fired++;
+            }
+        }
+        assertEquals(2_000, fired);
+    }
+}
@@ -0,0 +1,141 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderCreateDTO;
+import com.artztall.order_service.dto.OrderItemDTO;
+import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.exception.IdempotencyConflictException;
+import com.artztall.order_service.exception.IdempotencyKeyMismatchException;
+import com.artztall.order_service.model.IdempotencyRecord;
+import com.artztall.order_service.model.IdempotencyStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IdempotencyService idempotencyService;
+    private OrderCreateDTO request;
+    private OrderResponseDTO order;
+    private final AtomicInteger creations = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyService = new IdempotencyService(mongoTemplate, new SimpleMeterRegistry(), Schedulers.immediate(),
+                Duration.ofHours(24), Duration.ofSeconds(30), 100);
+
+        request = new OrderCreateDTO();
+        request.setUserId("user123");
+        request.setItem(new OrderItemDTO("product123", 1));
+        request.setShippingAddress("123 Test St");
+
+        order = new OrderResponseDTO();
+        order.setId("order123");
+    }
+
+    @Test
+    public void createOrder_FirstRequest_RunsAndStoresResult() {
+        IdempotencyService.Outcome outcome = idempotencyService.createOrder("key-1", request, this::create).join();
+
+        assertFalse(outcome.replayed());
+        assertEquals(order, outcome.order());
+        assertEquals(1, creations.get());
+        verify(mongoTemplate).insert(any(IdempotencyRecord.class));
+        verify(mongoTemplate).save(argThat((IdempotencyRecord record) ->
+                record.getStatus() == IdempotencyStatus.COMPLETED && record.getResponse() == order));
+    }
+
+    @Test
+    public void createOrder_ReplayOnSameInstance_ServedFromMemory() {
+        idempotencyService.createOrder("key-1", request, this::create).join();
+        clearInvocations(mongoTemplate);
+
+        IdempotencyService.Outcome outcome = idempotencyService.createOrder("key-1", request, this::create).join();
+
+        assertTrue(outcome.replayed());
+        assertEquals("order123", outcome.order().getId());
+        assertEquals(1, creations.get());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void createOrder_ReplayOfCompletedKeyFromStore_DoesNotCreateAgain() {
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongoTemplate.findById("user123:key-1", IdempotencyRecord.class))
+                .thenReturn(record(IdempotencyStatus.COMPLETED, IdempotencyService.fingerprint(request)));
+
+        IdempotencyService.Outcome outcome = idempotencyService.createOrder("key-1", request, this::create).join();
+
+        assertTrue(outcome.replayed());
+        assertEquals("order123", outcome.order().getId());
+        assertEquals(0, creations.get());
+    }
+
+    @Test
+    public void createOrder_KeyStillInProgress_Conflicts() {
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        IdempotencyRecord inProgress = record(IdempotencyStatus.IN_PROGRESS, IdempotencyService.fingerprint(request));
+        inProgress.setLockedUntil(LocalDateTime.now().plusSeconds(30));
+        when(mongoTemplate.findById("user123:key-1", IdempotencyRecord.class)).thenReturn(inProgress);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> idempotencyService.createOrder("key-1", request, this::create).join());
+        assertInstanceOf(IdempotencyConflictException.class, exception.getCause());
+        assertEquals(0, creations.get());
+    }
+
+    @Test
+    public void createOrder_KeyReusedForDifferentRequest_Rejected() {
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+        when(mongoTemplate.findById("user123:key-1", IdempotencyRecord.class))
+                .thenReturn(record(IdempotencyStatus.COMPLETED, "another-request"));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> idempotencyService.createOrder("key-1", request, this::create).join());
+        assertInstanceOf(IdempotencyKeyMismatchException.class, exception.getCause());
+    }
+
+    @Test
+    public void createOrder_Failure_ReleasesKeyForRetry() {
+        assertThrows(CompletionException.class, () -> idempotencyService.createOrder("key-1", request,
+                () -> CompletableFuture.<OrderResponseDTO>failedFuture(new RuntimeException("Failed to create order"))).join());
+
+        verify(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+        verify(mongoTemplate, never()).save(any());
+    }
+
+    private CompletableFuture<OrderResponseDTO> create() {
+        creations.incrementAndGet();
+        return CompletableFuture.completedFuture(order);
+    }
+
+    private IdempotencyRecord record(IdempotencyStatus status, String requestHash) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setId("user123:key-1");
+        record.setStatus(status);
+        record.setRequestHash(requestHash);
+        record.setResponse(order);
+        return record;
+    }
+}
@@ -0,0 +1,107 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.NotificationSendDTO;
+import com.artztall.order_service.model.NotificationOutboxEntry;
+import com.artztall.order_service.model.NotificationOutboxStatus;
+import com.artztall.order_service.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Mock
+    private NotificationClientService notificationClientService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxDispatcher dispatcher;
+    private NotificationOutboxEntry entry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationOutboxDispatcher(mongoTemplate, notificationOutboxRepository,
+                notificationClientService, meterRegistry, Executors.defaultThreadFactory(), 10, 1, 10, 3,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(1), Duration.ofSeconds(1));
+
+        entry = new NotificationOutboxEntry();
+        entry.setId("outbox123");
+        entry.setPayload(new NotificationSendDTO());
+        entry.setStatus(NotificationOutboxStatus.PENDING);
+        entry.setCreatedAt(LocalDateTime.now().minusSeconds(2));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void deliver_Success_AcknowledgedInBulk() {
+        when(notificationClientService.deliver(any())).thenReturn(Mono.empty());
+
+        dispatcher.deliver(entry);
+        dispatcher.acknowledgeDelivered();
+
+        verify(mongoTemplate).remove(any(Query.class), eq(NotificationOutboxEntry.class));
+        assertEquals(1, meterRegistry.get("notifications.outbox.dispatch.lag").timer().count());
+    }
+
+    @Test
+    public void deliver_Failure_RescheduledWithBackoff() {
+        when(notificationClientService.deliver(any())).thenReturn(Mono.error(new RuntimeException("down")));
+
+        dispatcher.deliver(entry);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(NotificationOutboxEntry.class));
+        assertEquals(1, update.getValue().getUpdateObject().get("$set", Document.class).get("attempts"));
+        assertTrue(update.getValue().modifies("nextAttemptAt"));
+        assertFalse(update.getValue().modifies("status"));
+    }
+
+    @Test
+    public void deliver_FailureAtMaxAttempts_ParkedAsFailed() {
+        entry.setAttempts(2);
+        when(notificationClientService.deliver(any())).thenReturn(Mono.error(new RuntimeException("down")));
+
+        dispatcher.deliver(entry);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(NotificationOutboxEntry.class));
+        assertTrue(update.getValue().modifies("status"));
+    }
+
+    @Test
+    public void backoff_GrowsExponentiallyUpToMax() {
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(4), dispatcher.backoff(3));
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(10));
+    }
+}
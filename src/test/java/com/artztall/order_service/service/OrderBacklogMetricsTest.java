@@ -0,0 +1,65 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderBacklogMetricsTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OrderSchemaMigration orderSchemaMigration;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderBacklogMetrics backlogMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        backlogMetrics = new OrderBacklogMetrics(mongoTemplate, orderSchemaMigration, meterRegistry, Duration.ofMinutes(15));
+    }
+
+    @Test
+    public void refresh_ReportsPendingCountAndSweeperLag() {
+        Order oldest = new Order();
+        oldest.setCreatedAt(LocalDateTime.now().minusMinutes(20));
+        when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenReturn(7L);
+        when(mongoTemplate.findOne(any(Query.class), eq(Order.class))).thenReturn(oldest);
+
+        backlogMetrics.refresh();
+
+        assertEquals(7, meterRegistry.get("orders.pending").gauge().value());
+        assertEquals(1200, meterRegistry.get("orders.pending.oldest.age").gauge().value(), 2);
+        assertEquals(300, meterRegistry.get("orders.sweeper.lag").gauge().value(), 2);
+    }
+
+    @Test
+    public void refresh_MongoUnavailable_KeepsLastValues() {
+        when(mongoTemplate.count(any(Query.class), eq(Order.class))).thenReturn(3L)
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        backlogMetrics.refresh();
+
+        backlogMetrics.refresh();
+
+        assertEquals(3, meterRegistry.get("orders.pending").gauge().value());
+        assertEquals(0, meterRegistry.get("orders.sweeper.lag").gauge().value());
+    }
+}
@@ -0,0 +1,34 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.config.MongoConfig;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OrderChangeStreamListenerTest {
+
+    @Test
+    public void pipeline_MatchesInsertsAndStatusUpdatesButNotReplacements() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(new MongoConfig().mongoCustomConversions().getSimpleTypeHolder());
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context));
+        OrderChangeStreamListener listener = new OrderChangeStreamListener(mongoTemplate, null, true, Duration.ofSeconds(5));
+
+        BsonDocument match = listener.pipeline().get(0).toBsonDocument().getDocument("$match");
+
+        String json = match.toJson();
+        assertTrue(json.contains("\"insert\""));
+        assertTrue(json.contains("\"updateDescription.updatedFields.s\""));
+        assertFalse(json.contains("replace"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderStatusEventDTO;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderEventHubTest {
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private OrderEventHub hub;
+
+    @BeforeEach
+    public void setUp() {
+        hub = new OrderEventHub(Schedulers.immediate(), new SimpleMeterRegistry(), Duration.ofMinutes(30)) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    public void publish_ReachesOrderAndUserSubscribersOnly() {
+        hub.subscribeToOrder(event("order1", "user1", OrderStatus.PENDING, 0L));
+        hub.subscribeToUser("user1");
+        hub.subscribeToUser("user2");
+
+        hub.publish(event("order1", "user1", OrderStatus.CONFIRMED, 1L));
+
+        assertEquals(2, emitters.get(0).sent.size(), "current state, then the change");
+        assertEquals(1, emitters.get(1).sent.size());
+        assertEquals(0, emitters.get(2).sent.size());
+        assertEquals(3, hub.subscriberCount());
+    }
+
+    @Test
+    public void publish_DropsStreamsThatCannotBeWritten() {
+        hub.subscribeToUser("user1");
+        hub.subscribeToUser("user1");
+        emitters.get(0).broken = true;
+
+        hub.publish(event("order1", "user1", OrderStatus.CONFIRMED, 1L));
+        hub.publish(event("order1", "user1", OrderStatus.SHIPPED, 2L));
+
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(2, emitters.get(1).sent.size());
+    }
+
+    @Test
+    public void heartbeat_WritesOnBlockingCallScheduler() {
+        List<Runnable> scheduled = new ArrayList<>();
+        hub = new OrderEventHub(Schedulers.fromExecutor(scheduled::add), new SimpleMeterRegistry(), Duration.ofMinutes(30)) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        hub.subscribeToUser("user1");
+
+        hub.heartbeat();
+
+        assertEquals(0, emitters.get(0).sent.size());
+        scheduled.forEach(Runnable::run);
+        assertEquals(1, emitters.get(0).sent.size());
+    }
+
+    private static OrderStatusEventDTO event(String orderId, String userId, OrderStatus status, long version) {
+        return new OrderStatusEventDTO(orderId, userId, status, PaymentStatus.PENDING, version, null);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> sent = new ArrayList<>();
+        private boolean broken;
+
+        @Override
+        public void send(SseEventBuilder event) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(event);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderExpirySchedulerTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final Instant START = Instant.parse("2024-11-01T10:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private AbandonedOrderSweeper sweeper;
+
+    @Mock
+    private OrderSchemaMigration orderSchemaMigration;
+
+    private MutableClock clock;
+    private OrderExpiryScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(START);
+        scheduler = new OrderExpiryScheduler(mongoTemplate, sweeper, orderSchemaMigration, new SimpleMeterRegistry(),
+                Duration.ofMinutes(15), Duration.ofSeconds(1), 64, clock);
+    }
+
+    @Test
+    public void expireDueOrders_ExpiresOrderAtItsDeadline() {
+        scheduler.schedule(pendingOrder("order1", LocalDateTime.ofInstant(START, ZONE)));
+
+        clock.now = START.plus(Duration.ofMinutes(15)).minusMillis(1);
+        scheduler.expireDueOrders();
+        verify(sweeper, never()).expireOrders(anyCollection());
+
+        clock.now = START.plus(Duration.ofMinutes(15)).plusSeconds(1);
+        scheduler.expireDueOrders();
+        verify(sweeper).expireOrders(List.of("order1"));
+        assertEquals(0, scheduler.scheduled());
+    }
+
+    @Test
+    public void cancel_ConfirmedOrderDoesNotExpire() {
+        scheduler.schedule(pendingOrder("order1", LocalDateTime.ofInstant(START, ZONE)));
+        scheduler.cancel("order1");
+
+        clock.now = START.plus(Duration.ofHours(1));
+        scheduler.expireDueOrders();
+
+        verifyNoInteractions(sweeper);
+    }
+
+    @Test
+    public void schedule_IgnoresOrdersThatAreNotPending() {
+        Order confirmed = pendingOrder("order1", LocalDateTime.ofInstant(START, ZONE));
+        confirmed.setStatus(OrderStatus.CONFIRMED);
+
+        scheduler.schedule(confirmed);
+
+        assertEquals(0, scheduler.scheduled());
+    }
+
+    private static Order pendingOrder(String id, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderExportFormat;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderItem;
+import com.artztall.order_service.model.OrderStatus;
+import com.artztall.order_service.model.PaymentStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class OrderExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MongoTemplate mongoTemplate;
+    private OrderExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        exportService = new OrderExportService(mongoTemplate, objectMapper, mock(OrderSchemaMigration.class), 200);
+    }
+
+    @Test
+    public void export_WritesOneJsonObjectPerLine() throws IOException {
+        when(mongoTemplate.stream(any(Query.class), eq(Order.class)))
+                .thenReturn(Stream.of(order("order1", "Sunset"), order("order2", "Harbour")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(FROM, TO, null, null, OrderExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("order1", first.get("id").asText());
+        assertEquals("artist1", first.get("artistId").asText());
+        assertEquals("PENDING", first.get("status").asText());
+        assertEquals("order2", objectMapper.readTree(lines[1]).get("id").asText());
+    }
+
+    @Test
+    public void export_WritesCsvWithHeaderAndQuotedValues() throws IOException {
+        when(mongoTemplate.stream(any(Query.class), eq(Order.class)))
+                .thenReturn(Stream.of(order("order1", "Rain, \"Colombo\"")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(FROM, TO, null, null, OrderExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,userId,productId,productName,"));
+        assertTrue(lines[1].startsWith("order1,user1,product1,\"Rain, \"\"Colombo\"\"\",artist1,2,"));
+    }
+
+    @Test
+    public void exportQuery_AppliesOptionalFiltersAndCursorBatchSize() {
+        Query query = exportService.exportQuery(FROM, TO, OrderStatus.CONFIRMED, "artist1");
+
+        assertEquals(OrderStatus.CONFIRMED, query.getQueryObject().get("status"));
+        assertEquals("artist1", query.getQueryObject().get("item.artistId"));
+        assertEquals(200, query.getMeta().getCursorBatchSize());
+        assertFalse(exportService.exportQuery(FROM, TO, null, null).getQueryObject().containsKey("status"));
+    }
+
+    private static Order order(String id, String productName) {
+        OrderItem item = new OrderItem();
+        item.setProductId("product1");
+        item.setProductName(productName);
+        item.setArtistId("artist1");
+        item.setQuantity(2);
+        item.setPrice(new BigDecimal("50.00"));
+        item.setSubtotal(new BigDecimal("100.00"));
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId("user1");
+        order.setItem(item);
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        order.setCreatedAt(FROM.plusDays(1));
+        order.setUpdatedAt(FROM.plusDays(1));
+        return order;
+    }
+}
@@ -0,0 +1,107 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.dto.OrderResponseDTO;
+import com.artztall.order_service.model.Order;
+import com.artztall.order_service.model.OrderCacheEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderReadCacheTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private OrderReadCache orderReadCache;
+    private OrderCacheInvalidationListener listener;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        orderReadCache = new OrderReadCache(mongoTemplate, new SimpleMeterRegistry(), Schedulers.immediate(),
+                Duration.ofSeconds(30), 100, 100);
+        listener = new OrderCacheInvalidationListener(mongoTemplate, orderReadCache, false, Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void invalidate_EvictsLocallyAndPublishesEvent() {
+        orderReadCache.getOrder("order123", this::load);
+        Order order = new Order();
+        order.setId("order123");
+        order.setUserId("user123");
+
+        orderReadCache.invalidate(order);
+        orderReadCache.getOrder("order123", this::load);
+
+        assertEquals(2, loads.get());
+        verify(mongoTemplate).insert(argThat((Collection<OrderCacheEvent> events) -> events.size() == 1
+                && events.iterator().next().getOrderId().equals("order123")
+                && events.iterator().next().getUserId().equals("user123")), eq(OrderCacheEvent.class));
+    }
+
+    @Test
+    public void remoteEvent_EvictsOrderAndUserList() {
+        orderReadCache.getOrder("order123", this::load);
+        orderReadCache.getUserOrders("user123", userId -> List.of(load("order123")));
+
+        listener.apply(new OrderCacheEvent("e1", "order123", "user123", "another-instance", LocalDateTime.now()));
+        orderReadCache.getOrder("order123", this::load);
+        orderReadCache.getUserOrders("user123", userId -> List.of(load("order123")));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void ownEvent_IsIgnored() {
+        Order order = new Order();
+        order.setId("order123");
+        orderReadCache.invalidate(order);
+        orderReadCache.getOrder("order123", this::load);
+        OrderCacheEvent published = new OrderCacheEvent();
+        verify(mongoTemplate).insert(argThat((Collection<OrderCacheEvent> events) -> {
+            published.setOrigin(events.iterator().next().getOrigin());
+            return true;
+        }), eq(OrderCacheEvent.class));
+        published.setOrderId("order123");
+
+        listener.apply(published);
+        orderReadCache.getOrder("order123", this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void clear_DropsOrdersAndUserLists() {
+        orderReadCache.getOrder("order123", this::load);
+        orderReadCache.getUserOrders("user123", userId -> List.of(load("order123")));
+
+        orderReadCache.clear();
+        orderReadCache.getOrder("order123", this::load);
+        orderReadCache.getUserOrders("user123", userId -> List.of(load("order123")));
+
+        assertEquals(4, loads.get());
+    }
+
+    private OrderResponseDTO load(String orderId) {
+        loads.incrementAndGet();
+        OrderResponseDTO order = new OrderResponseDTO();
+        order.setId(orderId);
+        return order;
+    }
+}
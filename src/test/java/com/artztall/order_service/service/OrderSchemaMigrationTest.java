@@ -0,0 +1,116 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.exception.SchemaMigrationInProgressException;
+import com.artztall.order_service.model.Order;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.in;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderSchemaMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private MongoCollection<Document> orders;
+
+    @Mock
+    private MongoCollection<Document> migrations;
+
+    @Mock
+    private FindIterable<Document> migrationState;
+
+    @Mock
+    private FindIterable<Document> found;
+
+    @Captor
+    private ArgumentCaptor<List<WriteModel<Document>>> replacements;
+
+    private OrderSchemaMigration migration;
+
+    @BeforeEach
+    public void setUp() {
+        migration = new OrderSchemaMigration(mongoTemplate, leaseService, new SyncTaskExecutor(), true, 500,
+                Duration.ZERO, Duration.ofMinutes(5));
+        when(mongoTemplate.getCollection(OrderSchemaMigration.MIGRATIONS_COLLECTION)).thenReturn(migrations);
+        when(migrations.find(any(Bson.class))).thenReturn(migrationState);
+        when(migrationState.first()).thenReturn(new Document("_id", OrderSchemaMigration.MIGRATION_ID));
+    }
+
+    @Test
+    public void migrateOrders_RewritesLegacyOrderBeforeGuardedUpdate() {
+        ObjectId id = new ObjectId();
+        Document legacy = new Document("_id", id)
+                .append("userId", "user-1")
+                .append("status", "PENDING")
+                .append("paymentStatus", "PENDING")
+                .append("createdAt", new Date())
+                .append("_class", "com.artztall.order_service.model.Order");
+        when(mongoTemplate.getCollectionName(Order.class)).thenReturn("order");
+        when(mongoTemplate.getCollection("order")).thenReturn(orders);
+        when(orders.find(and(in("_id", List.<Object>of(id)), exists("userId")))).thenReturn(found);
+        when(found.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(legacy);
+            return target;
+        });
+
+        when(orders.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 1, List.of(), List.of()));
+
+        migration.migrateOrders(List.of(id.toHexString()));
+
+        verify(orders).bulkWrite(replacements.capture(), any(BulkWriteOptions.class));
+        Document compact = ((ReplaceOneModel<Document>) replacements.getValue().get(0)).getReplacement();
+        assertEquals("user-1", compact.get("u"));
+        assertEquals("P", compact.get("s"));
+        assertFalse(compact.containsKey("status"));
+    }
+
+    @Test
+    public void requireCompleted_WhileMigrating_Unavailable() {
+        assertThrows(SchemaMigrationInProgressException.class, () -> migration.requireCompleted());
+    }
+
+    @Test
+    public void requireCompleted_AfterMigration_Passes() {
+        when(migrationState.first())
+                .thenReturn(new Document("_id", OrderSchemaMigration.MIGRATION_ID).append("completedAt", new Date()));
+
+        migration.requireCompleted();
+        migration.migrateOrders(List.of(new ObjectId().toHexString()));
+
+        verify(mongoTemplate, never()).getCollectionName(Order.class);
+    }
+
+}
@@ -1,19 +1,41 @@
 package com.artztall.order_service.service;
 
+import com.artztall.order_service.config.OrderBatchProperties;
 import com.artztall.order_service.dto.*;
 import com.artztall.order_service.model.*;
+import com.artztall.order_service.exception.DownstreamUnavailableException;
+import com.artztall.order_service.exception.InvalidBatchException;
+import com.artztall.order_service.exception.InvalidCursorException;
+import com.artztall.order_service.exception.OrderConflictException;
+import com.artztall.order_service.exception.SchemaMigrationInProgressException;
+import com.artztall.order_service.repository.OrderCursor;
 import com.artztall.order_service.repository.OrderRepository;
+import com.artztall.order_service.repository.StatusTransition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,14 +53,45 @@ public class OrderServiceTest {
     @Mock
     private NotificationClientService notificationClientService;
 
-    @InjectMocks
+    @Mock
+    private ArtisanSalesService artisanSalesService;
+
+    @Spy
+    private OrderBatchProperties batchProperties = new OrderBatchProperties();
+
+    @Spy
+    private Scheduler blockingCallScheduler = Schedulers.immediate();
+
+    @Spy
+    private OrderReadCache orderReadCache = new OrderReadCache(mock(MongoTemplate.class), new SimpleMeterRegistry(),
+            Schedulers.immediate(), Duration.ofSeconds(30), 100, 100);
+
+    @Mock
+    private OrderExpiryScheduler orderExpiryScheduler;
+
+    @Mock
+    private OrderSchemaMigration orderSchemaMigration;
+
     private OrderServiceImpl orderService;
 
+    @Captor
+    private ArgumentCaptor<List<Order>> insertedOrders;
+
+    @Captor
+    private ArgumentCaptor<List<StatusTransition>> transitions;
+
+    @Captor
+    private ArgumentCaptor<List<NotificationSendDTO>> notifications;
+
     private OrderCreateDTO orderCreateDTO;
     private ProductResponseDTO productResponseDTO;
 
     @BeforeEach
     public void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, productClientService, notificationClientService,
+                artisanSalesService, batchProperties, blockingCallScheduler, orderReadCache, orderExpiryScheduler,
+                orderSchemaMigration, TransactionOperations.withoutTransaction(), Duration.ofMinutes(30));
+
         // Setup mock product
         productResponseDTO = new ProductResponseDTO();
         productResponseDTO.setId("product123");
@@ -66,10 +119,10 @@ public class OrderServiceTest {
     @Test
     public void createOrder_Success() {
         // Mock product service
-        when(productClientService.getProduct("product123")).thenReturn(productResponseDTO);
+        when(productClientService.getProductAsync("product123")).thenReturn(Mono.just(productResponseDTO));
 
         // Mock product reservation
-        doNothing().when(productClientService).reserveProduct("product123");
+        when(productClientService.reserveProductAsync("product123")).thenReturn(Mono.empty());
 
         // Mock notification service
         doNothing().when(notificationClientService).sendNotification(any());
@@ -96,7 +149,7 @@ public class OrderServiceTest {
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Execute method
-        OrderResponseDTO response = orderService.createOrder(orderCreateDTO);
+        OrderResponseDTO response = orderService.createOrder(orderCreateDTO).join();
 
         // Verify response
         assertNotNull(response);
@@ -114,10 +167,12 @@ public class OrderServiceTest {
         assertEquals(BigDecimal.valueOf(100.00), response.getItem().getSubtotal());
 
         // Verify interactions
-        verify(productClientService, times(2)).getProduct("product123");
-        verify(productClientService).reserveProduct("product123");
+        verify(productClientService, times(1)).getProductAsync("product123");
+        verify(productClientService).reserveProductAsync("product123");
         verify(orderRepository).save(any(Order.class));
-        verify(notificationClientService).sendNotification(any());
+        verify(notificationClientService).sendNotification(argThat(notification ->
+                notification.getMessage().endsWith("Please complete payment within 30 minutes.")));
+        verify(orderExpiryScheduler).schedule(savedOrder);
     }
 
 
@@ -125,12 +180,169 @@ public class OrderServiceTest {
     public void createOrder_ProductNotAvailable() {
         // Setup unavailable product
         productResponseDTO.setAvailable(false);
-        when(productClientService.getProduct(anyString())).thenReturn(productResponseDTO);
+        when(productClientService.getProductAsync(anyString())).thenReturn(Mono.just(productResponseDTO));
+        when(productClientService.reserveProductAsync(anyString())).thenReturn(Mono.empty());
 
         // Expect exception
-        assertThrows(RuntimeException.class, () -> {
-            orderService.createOrder(orderCreateDTO);
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            orderService.createOrder(orderCreateDTO).join();
         });
+        assertEquals("Product is not available: product123", exception.getCause().getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    public void createOrder_ProductServiceUnavailable_PropagatesUnavailable() {
+        when(productClientService.getProductAsync("product123")).thenReturn(Mono.just(productResponseDTO));
+        when(productClientService.reserveProductAsync("product123"))
+                .thenReturn(Mono.error(new DownstreamUnavailableException("product-service.reserve timed out")));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> orderService.createOrder(orderCreateDTO).join());
+        assertInstanceOf(DownstreamUnavailableException.class, exception.getCause());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    public void createOrder_SaveFails_ReleasesReservation() {
+        when(productClientService.getProductAsync("product123")).thenReturn(Mono.just(productResponseDTO));
+        when(productClientService.reserveProductAsync("product123")).thenReturn(Mono.empty());
+        when(productClientService.releaseProductAsync("product123")).thenReturn(Mono.empty());
+        when(orderRepository.save(any(Order.class))).thenThrow(new RuntimeException("Mongo unavailable"));
+
+        assertThrows(CompletionException.class, () -> orderService.createOrder(orderCreateDTO).join());
+        verify(productClientService).releaseProductAsync("product123");
+        verifyNoInteractions(notificationClientService, artisanSalesService);
+    }
+
+    @Test
+    public void createOrder_OutboxWriteFails_FailsWithOrderAndReleasesReservation() {
+        when(productClientService.getProductAsync("product123")).thenReturn(Mono.just(productResponseDTO));
+        when(productClientService.reserveProductAsync("product123")).thenReturn(Mono.empty());
+        when(productClientService.releaseProductAsync("product123")).thenReturn(Mono.empty());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new RuntimeException("Mongo unavailable")).when(notificationClientService).sendNotification(any());
+
+        assertThrows(CompletionException.class, () -> orderService.createOrder(orderCreateDTO).join());
+        verify(productClientService).releaseProductAsync("product123");
+        verifyNoInteractions(artisanSalesService);
+    }
+
+    @Test
+    public void createOrder_SalesSummaryFails_StillReturnsOrder() {
+        when(productClientService.getProductAsync("product123")).thenReturn(Mono.just(productResponseDTO));
+        when(productClientService.reserveProductAsync("product123")).thenReturn(Mono.empty());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new RuntimeException("Mongo unavailable")).when(artisanSalesService).recordOrderCreated(any(Order.class));
+
+        OrderResponseDTO response = orderService.createOrder(orderCreateDTO).join();
+
+        assertEquals("product123", response.getItem().getProductId());
+        verify(notificationClientService).sendNotification(any());
+        verify(productClientService, never()).releaseProductAsync(any());
+    }
+
+    @Test
+    public void updateOrderStatus_NotificationCommitsWithTheChange() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        TransactionOperations tracking = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                inTransaction.set(true);
+                try {
+                    return action.doInTransaction(null);
+                } finally {
+                    inTransaction.set(false);
+                }
+            }
+        };
+        orderService = new OrderServiceImpl(orderRepository, productClientService, notificationClientService,
+                artisanSalesService, batchProperties, blockingCallScheduler, orderReadCache, orderExpiryScheduler,
+                orderSchemaMigration, tracking, Duration.ofMinutes(30));
+        Order pending = new Order();
+        pending.setId("order123");
+        pending.setUserId("user123");
+        pending.setStatus(OrderStatus.PENDING);
+        pending.setItem(new OrderItem());
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    assertTrue(inTransaction.get());
+                    return pending;
+                });
+        doAnswer(invocation -> {
+            assertTrue(inTransaction.get());
+            return null;
+        }).when(notificationClientService).sendNotification(any());
+
+        orderService.updateOrderStatus("order123", OrderStatus.CONFIRMED);
+
+        verify(notificationClientService).sendNotification(argThat(notification -> notification.getMessage().contains("CONFIRMED")));
+    }
+
+    @Test
+    public void createOrders_ReportsEachOrderAndInsertsReservedOnesTogether() {
+        ProductResponseDTO unavailable = new ProductResponseDTO();
+        unavailable.setId("product456");
+        unavailable.setAvailable(false);
+        ProductResponseDTO other = new ProductResponseDTO();
+        other.setId("product789");
+        other.setName("Other Product");
+        other.setPrice(BigDecimal.valueOf(50.00));
+        other.setAvailable(true);
+        other.setStockQuantity(1);
+        other.setArtistId("artist123");
+
+        when(productClientService.getProducts(List.of("product123", "product456", "product789"), 16))
+                .thenReturn(new ProductClientService.ProductLookup(
+                        Map.of("product123", productResponseDTO, "product456", unavailable, "product789", other), Map.of()));
+        when(productClientService.reserveProducts(List.of("product123", "product789"), 8))
+                .thenReturn(Map.of("product789", new RuntimeException("Already reserved")));
+        when(orderRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId("order-" + order.getItem().getProductId()));
+            return orders;
+        });
+
+        OrderBatchResultDTO result = orderService.createOrders(List.of(
+                orderCreateDTO, orderFor("product456"), orderFor("product123"), orderFor("product789")));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("order-product123", result.getResults().get(0).getOrder().getId());
+        assertEquals("Product is not available: product456", result.getResults().get(1).getError());
+        assertEquals("Product already ordered earlier in this batch: product123", result.getResults().get(2).getError());
+        assertEquals("Failed to reserve product: product789", result.getResults().get(3).getError());
+
+        verify(orderRepository).insert(insertedOrders.capture());
+        assertEquals(1, insertedOrders.getValue().size());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(artisanSalesService).recordOrdersCreated(anyList());
+        verify(notificationClientService).sendNotifications(argThat(notifications -> notifications.size() == 1));
+    }
+
+    @Test
+    public void createOrders_FailedLookup_FailsOnlyThatOrder() {
+        when(productClientService.getProducts(List.of("product123", "product456"), 16))
+                .thenReturn(new ProductClientService.ProductLookup(Map.of("product123", productResponseDTO),
+                        Map.of("product456", new DownstreamUnavailableException("product-service.get timed out"))));
+        when(productClientService.reserveProducts(List.of("product123"), 8)).thenReturn(Map.of());
+        when(orderRepository.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OrderBatchResultDTO result = orderService.createOrders(List.of(orderCreateDTO, orderFor("product456")));
+
+        assertEquals(1, result.getCreated());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Failed to look up product: product456", result.getResults().get(1).getError());
+    }
+
+    @Test
+    public void createOrders_TooLarge_Rejected() {
+        batchProperties.setMaxSize(1);
+
+        assertThrows(InvalidBatchException.class,
+                () -> orderService.createOrders(List.of(orderCreateDTO, orderFor("product456"))));
+        verifyNoInteractions(productClientService);
     }
 
     @Test
@@ -157,6 +369,60 @@ public class OrderServiceTest {
         assertEquals("user123", response.getUserId());
     }
 
+    @Test
+    public void getOrder_RepeatedRead_ServedFromCache() {
+        Order mockOrder = new Order();
+        mockOrder.setId("order123");
+        mockOrder.setUserId("user123");
+        mockOrder.setItem(new OrderItem());
+        when(orderRepository.findById("order123")).thenReturn(Optional.of(mockOrder));
+
+        orderService.getOrder("order123");
+        OrderResponseDTO response = orderService.getOrder("order123");
+
+        assertEquals("order123", response.getId());
+        verify(orderRepository, times(1)).findById("order123");
+    }
+
+    @Test
+    public void updateOrderStatus_EvictsCachedOrderAndUserList() {
+        Order pending = new Order();
+        pending.setId("order123");
+        pending.setUserId("user123");
+        pending.setStatus(OrderStatus.PENDING);
+        pending.setItem(new OrderItem());
+        when(orderRepository.findById("order123")).thenReturn(Optional.of(pending));
+        when(orderRepository.findByUserId(eq("user123"), any())).thenReturn(List.of(pending));
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class)))
+                .thenReturn(pending);
+        orderService.getOrder("order123");
+        orderService.getUserOrders("user123");
+
+        orderService.updateOrderStatus("order123", OrderStatus.CONFIRMED);
+        orderService.getOrder("order123");
+        orderService.getUserOrders("user123");
+
+        verify(orderRepository, times(2)).findById("order123");
+        verify(orderRepository, times(2)).findByUserId(eq("user123"), any());
+    }
+
+    @Test
+    public void updateOrderStatus_MigratesOrderBeforeGuardedUpdate() {
+        Order pending = new Order();
+        pending.setId("order123");
+        pending.setUserId("user123");
+        pending.setStatus(OrderStatus.PENDING);
+        pending.setItem(new OrderItem());
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class)))
+                .thenReturn(pending);
+
+        orderService.updateOrderStatus("order123", OrderStatus.CONFIRMED);
+
+        InOrder inOrder = inOrder(orderSchemaMigration, orderRepository);
+        inOrder.verify(orderSchemaMigration).migrateOrders(List.of("order123"));
+        inOrder.verify(orderRepository).transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class));
+    }
+
     @Test
     public void updateOrderStatus_Success() {
         // Prepare mock order
@@ -171,14 +437,12 @@ public class OrderServiceTest {
         orderItem.setQuantity(1);
         existingOrder.setItem(orderItem);
 
-        when(orderRepository.findById("order123")).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class)))
+                .thenReturn(existingOrder);
 
         // Mock notification service
         doNothing().when(notificationClientService).sendNotification(any());
 
-        // Mock order save
-        when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
-
         // Execute method
         OrderResponseDTO response = orderService.updateOrderStatus("order123", OrderStatus.CONFIRMED);
 
@@ -186,12 +450,148 @@ public class OrderServiceTest {
         assertNotNull(response);
         assertEquals(OrderStatus.CONFIRMED, response.getStatus());
         assertEquals(PaymentStatus.COMPLETED, response.getPaymentStatus());
+        assertEquals(1L, response.getVersion());
 
-        // Verify interactions
-        verify(orderRepository).save(any(Order.class));
+        // Verify interactions: one conditional update, no read and no full-document save
+        verify(orderRepository, never()).findById(anyString());
+        verify(orderRepository, never()).save(any(Order.class));
         verify(notificationClientService).sendNotification(any());
+        verify(artisanSalesService).recordStatusChange(
+                argThat(order -> order.getStatus() == OrderStatus.CONFIRMED), eq(OrderStatus.PENDING), isNull());
+        verify(orderExpiryScheduler).cancel("order123");
+    }
+
+    @Test
+    public void updateOrderStatus_ExpiredOrderConfirmed_Conflicts() {
+        Order expiredOrder = new Order();
+        expiredOrder.setId("order123");
+        expiredOrder.setStatus(OrderStatus.EXPIRED);
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class)))
+                .thenReturn(null);
+        when(orderRepository.findById("order123")).thenReturn(Optional.of(expiredOrder));
+
+        assertThrows(OrderConflictException.class,
+                () -> orderService.updateOrderStatus("order123", OrderStatus.CONFIRMED));
+        verifyNoInteractions(artisanSalesService, notificationClientService, productClientService);
     }
 
+    @Test
+    public void updateOrderStatus_StaleVersion_Conflicts() {
+        Order confirmedOrder = new Order();
+        confirmedOrder.setId("order123");
+        confirmedOrder.setStatus(OrderStatus.CONFIRMED);
+        confirmedOrder.setVersion(3L);
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.SHIPPED), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(null);
+        when(orderRepository.findById("order123")).thenReturn(Optional.of(confirmedOrder));
+
+        assertThrows(OrderConflictException.class,
+                () -> orderService.updateOrderStatus("order123", OrderStatus.SHIPPED, 2L));
+    }
+
+    @Test
+    public void updateOrderStatus_RepeatedConfirmation_ReturnsOrderUnchanged() {
+        Order confirmedOrder = new Order();
+        confirmedOrder.setId("order123");
+        confirmedOrder.setStatus(OrderStatus.CONFIRMED);
+        confirmedOrder.setPaymentStatus(PaymentStatus.COMPLETED);
+        confirmedOrder.setItem(new OrderItem());
+        when(orderRepository.transitionStatus(eq("order123"), eq(OrderStatus.CONFIRMED), isNull(), any(LocalDateTime.class)))
+                .thenReturn(null);
+        when(orderRepository.findById("order123")).thenReturn(Optional.of(confirmedOrder));
+
+        OrderResponseDTO response = orderService.updateOrderStatus("order123", OrderStatus.CONFIRMED);
+
+        assertEquals(OrderStatus.CONFIRMED, response.getStatus());
+        verifyNoInteractions(artisanSalesService, notificationClientService);
+    }
+
+    @Test
+    public void updateOrderStatuses_OneBulkWriteAndOneDigestPerUser() {
+        Order first = shippableOrder("order1", "user1", 2L);
+        Order second = shippableOrder("order2", "user1", null);
+        Order otherUsers = shippableOrder("order3", "user2", 5L);
+        Order delivered = shippableOrder("order4", "user2", 7L);
+        delivered.setStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findAllById(List.of("order1", "order2", "order3", "order4", "missing")))
+                .thenReturn(List.of(first, second, otherUsers, delivered));
+        when(orderRepository.transitionStatuses(anyList(), any(LocalDateTime.class))).thenReturn(3);
+
+        OrderStatusBatchResultDTO result = orderService.updateOrderStatuses(List.of(
+                new OrderStatusUpdateDTO("order1", OrderStatus.SHIPPED, null),
+                new OrderStatusUpdateDTO("order2", OrderStatus.SHIPPED, 0L),
+                new OrderStatusUpdateDTO("order3", OrderStatus.SHIPPED, null),
+                new OrderStatusUpdateDTO("order4", OrderStatus.SHIPPED, null),
+                new OrderStatusUpdateDTO("missing", OrderStatus.SHIPPED, null),
+                new OrderStatusUpdateDTO("order1", OrderStatus.DELIVERED, null)));
+
+        assertEquals(3, result.getUpdated());
+        assertEquals(3, result.getFailed());
+        assertEquals(OrderStatus.SHIPPED, result.getResults().get(0).getOrder().getStatus());
+        assertEquals(3L, result.getResults().get(0).getOrder().getVersion());
+        assertFalse(result.getResults().get(3).isSuccess());
+        assertEquals("Order not found", result.getResults().get(4).getError());
+        assertFalse(result.getResults().get(5).isSuccess());
+
+        verify(orderRepository).transitionStatuses(transitions.capture(), any(LocalDateTime.class));
+        assertEquals(new StatusTransition("order1", OrderStatus.CONFIRMED, 2L, OrderStatus.SHIPPED), transitions.getValue().get(0));
+        verify(orderRepository, never()).findStatesByIdIn(any());
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+
+        verify(notificationClientService).sendNotifications(notifications.capture());
+        assertEquals(2, notifications.getValue().size());
+        assertEquals("user1", notifications.getValue().get(0).getUserId());
+        assertTrue(notifications.getValue().get(0).getMessage().startsWith("2 of your orders have been updated"));
+        verify(artisanSalesService).recordStatusChanges(argThat(previous -> previous.size() == 3), argThat(updated -> updated.size() == 3));
+        verify(notificationClientService, never()).sendNotification(any());
+    }
+
+    @Test
+    public void updateOrderStatuses_LostRace_ReportsOnlyAppliedChanges() {
+        Order won = shippableOrder("order1", "user1", 1L);
+        Order lost = shippableOrder("order2", "user1", 1L);
+        when(orderRepository.findAllById(List.of("order1", "order2"))).thenReturn(List.of(won, lost));
+        ArgumentCaptor<LocalDateTime> updatedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(orderRepository.transitionStatuses(anyList(), updatedAt.capture())).thenReturn(1);
+        when(orderRepository.findStatesByIdIn(any())).thenAnswer(invocation -> {
+            Order wonState = shippableOrder("order1", "user1", 2L);
+            wonState.setStatus(OrderStatus.SHIPPED);
+            wonState.setUpdatedAt(updatedAt.getValue());
+            Order lostState = shippableOrder("order2", "user1", 2L);
+            lostState.setStatus(OrderStatus.CANCELLED);
+            return List.of(wonState, lostState);
+        });
+
+        OrderStatusBatchResultDTO result = orderService.updateOrderStatuses(List.of(
+                new OrderStatusUpdateDTO("order1", OrderStatus.SHIPPED, null),
+                new OrderStatusUpdateDTO("order2", OrderStatus.SHIPPED, null)));
+
+        assertEquals(1, result.getUpdated());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Order order2 changed while the batch was applied", result.getResults().get(1).getError());
+        verify(orderExpiryScheduler).cancel("order1");
+        verify(orderExpiryScheduler, never()).cancel("order2");
+    }
+
+    @Test
+    public void updateOrderStatuses_EmptyBatch_Rejected() {
+        assertThrows(InvalidBatchException.class, () -> orderService.updateOrderStatuses(List.of()));
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static Order shippableOrder(String id, String userId, Long version) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(userId);
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setPaymentStatus(PaymentStatus.COMPLETED);
+        order.setVersion(version);
+        OrderItem item = new OrderItem();
+        item.setProductId("product-" + id);
+        item.setArtistId("artist123");
+        order.setItem(item);
+        return order;
+    }
 
     @Test
     public void deleteOrder_Success() {
@@ -215,34 +615,129 @@ public class OrderServiceTest {
     }
 
     @Test
-    public void releaseAbandonedOrders_Success() {
-        // Prepare abandoned orders
-        Order abandonedOrder = new Order();
-        abandonedOrder.setId("order123");
-        abandonedOrder.setUserId("user123");
-        abandonedOrder.setStatus(OrderStatus.PENDING);
-        abandonedOrder.setItem(new OrderItem());
-        abandonedOrder.getItem().setProductId("product123");
-        abandonedOrder.setCreatedAt(LocalDateTime.now().minusMinutes(20));
+    public void getUserOrdersPage_MoreResults_ReturnsNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 11, 1, 10, 0);
+        Order newest = pagedOrder("order3", createdAt.plusMinutes(2));
+        Order middle = pagedOrder("order2", createdAt.plusMinutes(1));
+        Order oldest = pagedOrder("order1", createdAt);
 
-        // Mock repository to return abandoned orders
-        when(orderRepository.findByStatusAndCreatedAtBefore(
-                eq(OrderStatus.PENDING),
-                any(LocalDateTime.class)
-        )).thenReturn(List.of(abandonedOrder));
+        when(orderRepository.findPageByUserId("user123", null, 3)).thenReturn(List.of(newest, middle, oldest));
 
-        // Mock product release
-        doNothing().when(productClientService).releaseProduct(anyString());
+        OrderPageDTO page = orderService.getUserOrdersPage("user123", null, 2);
 
-        // Mock notification service
-        doNothing().when(notificationClientService).sendNotification(any());
+        assertEquals(2, page.getItems().size());
+        assertEquals("order2", page.getItems().get(1).getId());
+        OrderCursor cursor = OrderCursor.decode(page.getNextCursor());
+        assertEquals("order2", cursor.id());
+        assertEquals(middle.getCreatedAt(), cursor.createdAt());
+    }
 
-        // Execute method
-        orderService.releaseAbandonedOrders();
+    @Test
+    public void getUserOrdersPage_MigrationInProgress_Unavailable() {
+        doThrow(new SchemaMigrationInProgressException("migrating")).when(orderSchemaMigration).requireCompleted();
 
-        // Verify interactions
-        verify(productClientService).releaseProduct(anyString());
-        verify(orderRepository).save(abandonedOrder);
-        verify(notificationClientService).sendNotification(any());
+        assertThrows(SchemaMigrationInProgressException.class, () -> orderService.getUserOrdersPage("user123", null, 10));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    public void getUserOrdersPage_LastPage_HasNoCursor() {
+        Order only = pagedOrder("order1", LocalDateTime.of(2024, 11, 1, 10, 0));
+        OrderCursor after = new OrderCursor(LocalDateTime.of(2024, 11, 2, 10, 0), "order9");
+
+        when(orderRepository.findPageByUserId("user123", after, OrderServiceImpl.MAX_PAGE_SIZE + 1))
+                .thenReturn(List.of(only));
+
+        OrderPageDTO page = orderService.getUserOrdersPage("user123", after.encode(), 1000);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void getArtisanOrderSummaries_ReadsProjectedPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 11, 1, 10, 0);
+        Order newest = pagedOrder("order2", createdAt.plusMinutes(1));
+        Order oldest = pagedOrder("order1", createdAt);
+        newest.getItem().setArtistId("artisan1");
+        newest.getItem().setProductName("Sunset");
+
+        when(orderRepository.findSummaryPageByArtistIdAndPaymentStatus("artisan1", PaymentStatus.COMPLETED, null, 2))
+                .thenReturn(List.of(newest, oldest));
+
+        OrderSummaryPageDTO page = orderService.getArtisanOrderSummaries("artisan1", null, 1);
+
+        assertEquals(1, page.getItems().size());
+        OrderSummaryDTO summary = page.getItems().get(0);
+        assertEquals("order2", summary.getId());
+        assertEquals("artisan1", summary.getArtistId());
+        assertEquals("Sunset", summary.getProductName());
+        assertEquals("order2", OrderCursor.decode(page.getNextCursor()).id());
+        verify(orderRepository, never()).findPageByArtistIdAndPaymentStatus(anyString(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void getOrderSummary_ReadsProjectionInsteadOfFullOrder() {
+        Order order = pagedOrder("order1", LocalDateTime.of(2024, 11, 1, 10, 0));
+        order.setVersion(3L);
+        when(orderRepository.findSummaryById("order1")).thenReturn(order);
+
+        OrderSummaryDTO summary = orderService.getOrderSummary("order1");
+
+        assertEquals("order1", summary.getId());
+        assertEquals(3L, summary.getVersion());
+        verify(orderRepository, never()).findById(anyString());
+    }
+
+    @Test
+    public void getOrderSummary_NotFound() {
+        when(orderRepository.findSummaryById("missing")).thenReturn(null);
+
+        assertThrows(RuntimeException.class, () -> orderService.getOrderSummary("missing"));
+    }
+
+    @Test
+    public void getUserOrdersPage_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> orderService.getUserOrdersPage("user123", "not-a-cursor", 10));
+    }
+
+    private Order pagedOrder(String id, LocalDateTime createdAt) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId("user123");
+        order.setItem(new OrderItem());
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+
+    @Test
+    public void getOrdersByArtisan_FiltersCompletedPaymentsInQuery() {
+        Order paidOrder = pagedOrder("order1", LocalDateTime.of(2024, 11, 1, 10, 0));
+        paidOrder.setPaymentStatus(PaymentStatus.COMPLETED);
+
+        when(orderRepository.findByItem_ArtistIdAndPaymentStatus(eq("artist123"), eq(PaymentStatus.COMPLETED), any()))
+                .thenReturn(List.of(paidOrder));
+
+        List<OrderResponseDTO> orders = orderService.getOrdersByArtisan("artist123");
+
+        assertEquals(1, orders.size());
+        assertEquals("order1", orders.get(0).getId());
+    }
+
+    @Test
+    public void describe_RendersPaymentWindowInLargestWholeUnit() {
+        assertEquals("15 minutes", OrderServiceImpl.describe(Duration.ofMinutes(15)));
+        assertEquals("1 hour", OrderServiceImpl.describe(Duration.ofHours(1)));
+        assertEquals("90 seconds", OrderServiceImpl.describe(Duration.ofSeconds(90)));
+    }
+
+    private OrderCreateDTO orderFor(String productId) {
+        OrderCreateDTO dto = new OrderCreateDTO();
+        dto.setUserId("user123");
+        OrderItemDTO itemDTO = new OrderItemDTO();
+        itemDTO.setProductId(productId);
+        itemDTO.setQuantity(1);
+        dto.setItem(itemDTO);
+        return dto;
     }
-}
\ No newline at end of file
+}
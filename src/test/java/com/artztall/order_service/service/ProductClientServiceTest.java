@@ -0,0 +1,232 @@
+package com.artztall.order_service.service;
+
+import com.artztall.order_service.config.RequestDeadline;
+import com.artztall.order_service.config.ResilienceConfig;
+import com.artztall.order_service.config.ResilienceProperties;
+import com.artztall.order_service.dto.ProductResponseDTO;
+import com.artztall.order_service.exception.DownstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductClientServiceTest {
+    private static final String PRODUCT_JSON =
+            "{\"id\":\"product123\",\"name\":\"Test Product\",\"price\":100.0,\"stockQuantity\":10}";
+
+    private final AtomicInteger productGets = new AtomicInteger();
+    private final AtomicInteger productServiceCalls = new AtomicInteger();
+    private Function<ClientRequest, Mono<ClientResponse>> responder;
+    private ResilienceProperties properties;
+    private Cache<String, ProductResponseDTO> cache;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductClientService productClientService;
+
+    @BeforeEach
+    public void setUp() {
+        responder = request -> Mono.just(ok());
+        properties = new ResilienceProperties();
+        properties.getProductService().setCallTimeout(Duration.ofMillis(300));
+        properties.getProductService().setMinimumNumberOfCalls(2);
+        properties.getProductService().setSlidingWindowSize(2);
+        cache = Caffeine.newBuilder().maximumSize(10).recordStats().build();
+        productClientService = newClient();
+    }
+
+    @AfterEach
+    public void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    public void getProduct_RepeatedLookupServedFromCache() {
+        ProductResponseDTO first = productClientService.getProduct("product123");
+        ProductResponseDTO second = productClientService.getProduct("product123");
+
+        assertEquals("Test Product", first.getName());
+        assertSame(first, second);
+        assertEquals(1, productGets.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    public void reserveProduct_InvalidatesSnapshot() {
+        productClientService.getProduct("product123");
+        productClientService.reserveProduct("product123");
+        productClientService.getProduct("product123");
+
+        assertEquals(2, productGets.get());
+    }
+
+    @Test
+    public void releaseProduct_InvalidatesSnapshot() {
+        productClientService.getProduct("product123");
+        productClientService.releaseProduct("product123");
+
+        assertNull(cache.getIfPresent("product123"));
+    }
+
+    @Test
+    public void getProducts_FetchesOnlyUncachedIdsOnceAndSkipsMissingProducts() {
+        productClientService.getProduct("product123");
+        responder = request -> request.url().getPath().endsWith("/missing")
+                ? Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build())
+                : Mono.just(ok());
+
+        ProductClientService.ProductLookup lookup =
+                productClientService.getProducts(List.of("product123", "product456", "product456", "missing"), 4);
+
+        assertEquals(Set.of("product123", "product456"), lookup.products().keySet());
+        assertTrue(lookup.failures().isEmpty());
+        assertEquals(3, productGets.get());
+        assertNotNull(cache.getIfPresent("product456"));
+    }
+
+    @Test
+    public void getProducts_FailedLookupReturnedPerProduct() {
+        responder = request -> request.url().getPath().endsWith("/broken")
+                ? Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())
+                : Mono.just(ok());
+
+        ProductClientService.ProductLookup lookup =
+                productClientService.getProducts(List.of("product123", "broken"), 2);
+
+        assertEquals(Set.of("product123"), lookup.products().keySet());
+        assertEquals(Set.of("broken"), lookup.failures().keySet());
+        assertInstanceOf(DownstreamUnavailableException.class, lookup.failures().get("broken"));
+    }
+
+    @Test
+    public void reserveProducts_ReturnsFailuresPerProduct() {
+        responder = request -> request.url().getPath().contains("/taken/")
+                ? Mono.just(ClientResponse.create(HttpStatus.CONFLICT).build())
+                : Mono.just(ok());
+
+        Map<String, RuntimeException> failures =
+                productClientService.reserveProducts(List.of("product123", "taken"), 2);
+
+        assertEquals(Set.of("taken"), failures.keySet());
+        assertInstanceOf(WebClientResponseException.Conflict.class, failures.get("taken"));
+    }
+
+    @Test
+    public void getProduct_SlowProductService_TimesOutAsUnavailable() {
+        responder = request -> Mono.never();
+
+        assertThrows(DownstreamUnavailableException.class, () -> productClientService.getProduct("product123"));
+    }
+
+    @Test
+    public void reserveProduct_RepeatedServerErrors_OpenBreakerAndFailFast() {
+        responder = request -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build());
+        assertThrows(DownstreamUnavailableException.class, () -> productClientService.reserveProduct("product123"));
+        assertThrows(DownstreamUnavailableException.class, () -> productClientService.reserveProduct("product123"));
+        int callsBeforeOpen = productServiceCalls.get();
+
+        responder = request -> Mono.just(ok());
+        assertThrows(DownstreamUnavailableException.class, () -> productClientService.reserveProduct("product123"));
+        // Lookups have their own breaker and still go through
+        assertNotNull(productClientService.getProduct("product123"));
+        assertEquals(callsBeforeOpen + 1, productServiceCalls.get());
+
+        assertEquals(2, clientRequests("reserve", "server_error"));
+        assertEquals(1, clientRequests("reserve", "rejected"));
+        assertEquals(1, clientRequests("get", "success"));
+    }
+
+    @Test
+    public void getProduct_ClientError_IsNotMappedToUnavailable() {
+        responder = request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        assertThrows(WebClientResponseException.NotFound.class, () -> productClientService.getProduct("missing"));
+    }
+
+    @Test
+    public void getProduct_DeadlineAlreadySpent_FailsWithoutCalling() {
+        RequestDeadline.set(Duration.ZERO);
+
+        assertThrows(DownstreamUnavailableException.class, () -> productClientService.getProduct("product123"));
+        assertEquals(0, productServiceCalls.get());
+    }
+
+    @Test
+    public void getProduct_PropagatesRemainingBudget() {
+        AtomicInteger budgetHeader = new AtomicInteger();
+        responder = request -> {
+            budgetHeader.set(Integer.parseInt(request.headers().getFirst(RequestDeadline.HEADER)));
+            return Mono.just(ok());
+        };
+        RequestDeadline.set(Duration.ofMillis(100));
+
+        productClientService.getProduct("product123");
+
+        assertTrue(budgetHeader.get() > 0 && budgetHeader.get() <= 100);
+    }
+
+    @Test
+    public void getProduct_SlowFirstAttempt_IsHedged() {
+        properties.getProductService().setHedgeDelay(Duration.ofMillis(20));
+        productClientService = newClient();
+        AtomicInteger attempts = new AtomicInteger();
+        responder = request -> attempts.incrementAndGet() == 1 ? Mono.never() : Mono.just(ok());
+
+        ProductResponseDTO product = productClientService.getProduct("product123");
+
+        assertEquals("Test Product", product.getName());
+        assertEquals(2, productGets.get());
+    }
+
+    private ProductClientService newClient() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    productServiceCalls.incrementAndGet();
+                    if (request.method() == HttpMethod.GET) {
+                        productGets.incrementAndGet();
+                    }
+                    return responder.apply(request);
+                })
+                .build();
+        ResilienceProperties.Downstream settings = properties.getProductService();
+        return new ProductClientService(webClient, cache,
+                CircuitBreakerRegistry.of(ResilienceConfig.circuitBreakerConfig(settings)),
+                BulkheadRegistry.of(ResilienceConfig.bulkheadConfig(settings)),
+                properties,
+                meterRegistry);
+    }
+
+    private long clientRequests(String operation, String outcome) {
+        return meterRegistry.get(ProductClientService.CLIENT_REQUESTS_METRIC)
+                .tags("operation", operation, "outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private static ClientResponse ok() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(PRODUCT_JSON)
+                .build();
+    }
+}